@@ -2,7 +2,11 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
+// Cache advice wraps the transactional advice, so @CacheEvict runs only after the transaction commits.
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 @SpringBootApplication
 public class ShareItApp {
 
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Outcome of checking one entry of a booking batch: either a booking ready to be saved or the reason
+ * the entry was rejected.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingBatchEntry {
+    private final Booking booking;
+    private final String error;
+
+    public static BookingBatchEntry accepted(Booking booking) {
+        return new BookingBatchEntry(booking, null);
+    }
+
+    public static BookingBatchEntry rejected(String error) {
+        return new BookingBatchEntry(null, error);
+    }
+
+    public boolean isAccepted() {
+        return booking != null;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the booking columns the availability index keeps.
+ */
+public interface BookingIntervalView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
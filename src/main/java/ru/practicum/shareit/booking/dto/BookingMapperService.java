@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.dto;
 
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
 
 import java.util.List;
 
@@ -10,10 +11,21 @@ public interface BookingMapperService {
 
     Booking bookingRequestPrepareForAdd(Long bookerId, BookingRequestDto dto);
 
+    List<BookingBatchEntry> bookingRequestsPrepareForAdd(Long bookerId, List<BookingRequestDto> dtos);
+
     void accessVerification(Booking bookingFromRepo, Long userId);
 
-    List<BookingResponseDto> prepareResponseDtoList(Long bookerId, State state, Integer from, Integer size);
+    List<BookingResponseDto> prepareResponseDtoList(Long bookerId, State state, StatusOfBooking status,
+                                                    Integer from, Integer size);
+
+    List<BookingResponseDto> prepareResponseDtoListForOwner(Long ownerId, State state, StatusOfBooking status,
+                                                            Integer from, Integer size);
+
+    List<BookingResponseDto> prepareResponseDtoListAfterCursor(Long bookerId, State state, StatusOfBooking status,
+                                                               String cursor, Integer size);
 
-    List<BookingResponseDto> prepareResponseDtoListForOwner(Long ownerId, State state, Integer from, Integer size);
+    List<BookingResponseDto> prepareResponseDtoListForOwnerAfterCursor(Long ownerId, State state,
+                                                                       StatusOfBooking status, String cursor,
+                                                                       Integer size);
 
 }
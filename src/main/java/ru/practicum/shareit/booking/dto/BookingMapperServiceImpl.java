@@ -1,14 +1,16 @@
 package ru.practicum.shareit.booking.dto;
 
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -20,12 +22,26 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.booking.repository.BookingAvailabilityIndex.BLOCKING_STATUSES;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.after;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.ownedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.withStatus;
+
 @Slf4j
 @Component
 @AllArgsConstructor
@@ -36,25 +52,24 @@ public class BookingMapperServiceImpl implements BookingMapperService {
 
     @Override
     public Booking addStatusToBooking(Long ownerId, Long bookingId, Boolean approved) {
-        Booking bookingFromRepo = bookingRepo.findById(bookingId)
-                .orElseThrow(() -> new NullPointerException("Объект не найден"));
-
-        if (!bookingFromRepo.getStatus().equals(StatusOfBooking.WAITING)) {
-            log.info("Статус бронирования уже был установлен");
-            throw new ValidationException("Secondary approval is prohibited!");
-        }
-
         if (approved == null) {
             log.warn("статус подтверждения не может быть пустым");
             throw new ValidationException("Approve validation error. Status is null");
         }
-        if (!bookingFromRepo.getItem().getOwner().getId().equals(ownerId)) {
-            log.info("Подтверждение статуса бронирования доступно только владельцу вещи");
-            throw new BookingNotFoundException("Access error. Only Owner can approve booking");
+        StatusOfBooking status = approved ? StatusOfBooking.APPROVED : StatusOfBooking.REJECTED;
+
+        if (bookingRepo.updateStatusOfOwnersBooking(bookingId, ownerId, StatusOfBooking.WAITING, status) == 0) {
+            Booking bookingFromRepo = bookingRepo.findById(bookingId)
+                    .orElseThrow(() -> new BookingNotFoundException("Бронирование id " + bookingId + " не найдено"));
+            if (!bookingFromRepo.getItem().getOwner().getId().equals(ownerId)) {
+                log.info("Подтверждение статуса бронирования доступно только владельцу вещи");
+                throw new BookingNotFoundException("Access error. Only Owner can approve booking");
+            }
+            log.info("Статус бронирования уже был установлен");
+            throw new ValidationException("Secondary approval is prohibited!");
         }
-        bookingFromRepo.setStatus(approved.equals(true) ? StatusOfBooking.APPROVED
-                : StatusOfBooking.REJECTED);
-        return bookingFromRepo;
+        return bookingRepo.findById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Бронирование id " + bookingId + " не найдено"));
     }
 
     @Override
@@ -78,11 +93,54 @@ public class BookingMapperServiceImpl implements BookingMapperService {
             throw new BookingNotFoundException("Owner of item can't book it!");
         }
 
+        itemService.lockItemForBooking(item.getId());
+        if (bookingRepo.existsOverlapping(item.getId(), dto.getStart(), dto.getEnd(), BLOCKING_STATUSES)) {
+            log.info("Вещь id {} уже забронирована на период {} - {}", item.getId(), dto.getStart(), dto.getEnd());
+            throw new BookingConflictException("Item is already booked for this period");
+        }
+
         User user = UserMapper.makeUserWithId(userBooker).get();
 
         return BookingMapper.requestDtoToEntity(dto, item, user).get();
     }
 
+    /**
+     * Checks a whole batch with one user lookup, one locking item query and one overlap query. Each entry
+     * is also checked against the entries accepted before it, so a batch never double-books an item.
+     */
+    @Override
+    public List<BookingBatchEntry> bookingRequestsPrepareForAdd(Long bookerId, List<BookingRequestDto> dtos) {
+        User booker = UserMapper.makeUserWithId(userService.getUser(bookerId)).get();
+        Set<Long> itemIds = dtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Item> items = itemService.lockItemsForBooking(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        Map<Long, List<Period>> booked = new HashMap<>();
+        LocalDateTime from = dtos.stream().map(BookingRequestDto::getStart).min(Comparator.naturalOrder()).get();
+        LocalDateTime to = dtos.stream().map(BookingRequestDto::getEnd).max(Comparator.naturalOrder()).get();
+        bookingRepo.findIntervalsByItemIdIn(items.keySet(), from, to, BLOCKING_STATUSES).forEach(interval ->
+                booked.computeIfAbsent(interval.getItemId(), id -> new ArrayList<>())
+                        .add(new Period(interval.getStart(), interval.getEnd())));
+
+        List<BookingBatchEntry> entries = new ArrayList<>(dtos.size());
+        for (BookingRequestDto dto : dtos) {
+            Item item = items.get(dto.getItemId());
+            String error = batchEntryError(dto, item, booker, booked);
+            if (error != null) {
+                entries.add(BookingBatchEntry.rejected(error));
+                continue;
+            }
+            booked.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(new Period(dto.getStart(), dto.getEnd()));
+            dto.setStatus(StatusOfBooking.WAITING);
+            entries.add(BookingBatchEntry.accepted(BookingMapper.requestDtoToEntity(dto, item, booker).get()));
+        }
+        log.info("Пакет бронирований пользователя id {}: принято {} из {}", bookerId,
+                entries.stream().filter(BookingBatchEntry::isAccepted).count(), dtos.size());
+        return entries;
+    }
+
     @Override
     public void accessVerification(Booking bookingFromRepo, Long userId) {
         if (!(bookingFromRepo.getBooker().getId().equals(userId)
@@ -92,99 +150,91 @@ public class BookingMapperServiceImpl implements BookingMapperService {
         }
     }
 
-    public List<BookingResponseDto> prepareResponseDtoList(Long bookerId, State state,
+    @Override
+    public List<BookingResponseDto> prepareResponseDtoList(Long bookerId, State state, StatusOfBooking status,
                                                            Integer from, Integer size) {
+        userService.validateUserExists(bookerId);
+        return findPage(bookedBy(bookerId), state, status, null, offset(from, size), size);
+    }
 
-        userService.getUser(bookerId);
-        List<Booking> answerPage;
-        PageRequest pageRequest = PageRequest.of(from > 0 ? from / size : 0, size);
-
-        switch (state) {
-            case ALL:
-                answerPage = bookingRepo.findByBookerIdOrderByStartDesc(bookerId, pageRequest);
-                break;
-            case FUTURE:
-                answerPage = bookingRepo.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, LocalDateTime.now(),
-                        pageRequest);
-                break;
-            case CURRENT:
-                answerPage = bookingRepo.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                answerPage = bookingRepo.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now(),
-                        pageRequest);
-                break;
-            case WAITING:
-            case REJECTED:
-                StatusOfBooking status
-                        = state.equals(State.WAITING) ? StatusOfBooking.WAITING : StatusOfBooking.REJECTED;
-                answerPage = bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, pageRequest, status);
-                break;
-
-            default:
-                log.warn("Статус запроса {} не поддерживается", state);
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
-        }
-
-        assert answerPage != null;
-        List<Booking> responseBookingList = answerPage.stream()
-                .collect(Collectors.toList());
+    @Override
+    public List<BookingResponseDto> prepareResponseDtoListForOwner(Long ownerId, State state, StatusOfBooking status,
+                                                                   Integer from, Integer size) {
+        userService.validateUserExists(ownerId);
+        validateOwnerHasItems(ownerId);
+        return findPage(ownedBy(ownerId), state, status, null, offset(from, size), size);
+    }
 
-        return responseBookingList.stream()
+    @Override
+    public List<BookingResponseDto> prepareResponseDtoListAfterCursor(Long bookerId, State state,
+                                                                      StatusOfBooking status, String cursor,
+                                                                      Integer size) {
+        userService.validateUserExists(bookerId);
+        PageCursor after = PageCursor.decode(cursor);
+        return findPage(bookedBy(bookerId), state, status, after, 0, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> prepareResponseDtoListForOwnerAfterCursor(Long ownerId, State state,
+                                                                              StatusOfBooking status, String cursor,
+                                                                              Integer size) {
+        userService.validateUserExists(ownerId);
+        validateOwnerHasItems(ownerId);
+        PageCursor after = PageCursor.decode(cursor);
+        return findPage(ownedBy(ownerId), state, status, after, 0, size);
+    }
+
+    /**
+     * Runs the booker or owner feed as one query. The state is resolved against a single {@code now},
+     * and {@code status} narrows it further, e.g. FUTURE bookings that are still WAITING.
+     */
+    private List<BookingResponseDto> findPage(Specification<Booking> participant, State state, StatusOfBooking status,
+                                              PageCursor after, long offset, int size) {
+        Specification<Booking> filter = participant
+                .and(inState(state, LocalDateTime.now()))
+                .and(withStatus(status));
+        if (after != null) {
+            filter = filter.and(after(after));
+        }
+        return toResponseDtoList(bookingRepo.findPage(filter, offset, size));
+    }
+
+    private List<BookingResponseDto> toResponseDtoList(List<Booking> bookings) {
+        return bookings.stream()
                 .map(booking -> BookingMapper.entityToResponseDto(booking)
                         .orElseThrow(() -> new BookingNotFoundException("dto объект не найден")))
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<BookingResponseDto> prepareResponseDtoListForOwner(Long ownerId, State state, Integer from, Integer size) {
-        userService.getUser(ownerId);
-        List<Booking> answerPage;
-        PageRequest pageRequest = PageRequest.of(from > 0 ? from / size : 0, size);
-
-        if (itemService.getItems(ownerId).size() == 0) {
+    private void validateOwnerHasItems(Long ownerId) {
+        if (!itemService.ownerHasItems(ownerId)) {
             log.info("Пользователь {} не владеет вещами", ownerId);
             throw new ItemNotFoundException("Items of user is not found!");
         }
+    }
 
-        switch (state) {
-            case ALL:
-                answerPage = bookingRepo.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageRequest);
-                break;
-
-            case WAITING:
-            case REJECTED:
-                StatusOfBooking status
-                        = state.equals(State.WAITING) ? StatusOfBooking.WAITING : StatusOfBooking.REJECTED;
-                answerPage = bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, pageRequest, status);
-                break;
-            case FUTURE:
-                answerPage = bookingRepo.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case CURRENT:
-                answerPage = bookingRepo.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                answerPage = bookingRepo.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            default:
-                log.warn("Статус запроса {} не поддерживается", state);
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
-        }
-
-        assert answerPage != null;
-        List<Booking> responseBookingList = answerPage.stream()
-                .collect(Collectors.toList());
+    private long offset(Integer from, Integer size) {
+        return (long) (from > 0 ? from / size : 0) * size;
+    }
 
-        return responseBookingList != null ?
-                responseBookingList.stream()
-                        .map(booking -> BookingMapper.entityToResponseDto(booking)
-                                .orElseThrow(() -> new BookingNotFoundException("dto объект не найден")))
-                        .collect(Collectors.toList()) : Collections.emptyList();
+    private String batchEntryError(BookingRequestDto dto, Item item, User booker, Map<Long, List<Period>> booked) {
+        if (item == null) {
+            return "Item not found";
+        }
+        if (!Boolean.TRUE.equals(item.getIsAvailable())) {
+            return "Item  is not available for booking";
+        }
+        try {
+            dateValidate(dto);
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+        if (item.getOwner().getId().equals(booker.getId())) {
+            return "Owner of item can't book it!";
+        }
+        boolean overlaps = booked.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(period -> period.overlaps(dto.getStart(), dto.getEnd()));
+        return overlaps ? "Item is already booked for this period" : null;
     }
 
     private void dateValidate(BookingRequestDto dto) {
@@ -197,4 +247,14 @@ public class BookingMapperServiceImpl implements BookingMapperService {
             throw new ValidationException("EndTime can be later then StartDate");
         }
     }
+
+    @Value
+    private static class Period {
+        LocalDateTime start;
+        LocalDateTime end;
+
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return end.isAfter(otherStart) && start.isBefore(otherEnd);
+        }
+    }
 }
@@ -16,9 +16,25 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode
+@NamedEntityGraph(name = Booking.RESPONSE_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("item"),
+                @NamedAttributeNode("booker")
+        })
 public class Booking {
+    /**
+     * Everything {@code BookingMapper.entityToResponseDto} touches, fetched in the same statement as the booking.
+     * The item's owner and request are rendered by id only, which their lazy proxies answer without a select.
+     */
+    public static final String RESPONSE_GRAPH = "Booking.response";
+
+    /**
+     * Sequence ids, reserved 50 at a time, keep inserts batchable; an IDENTITY column forces Hibernate to
+     * run every insert on its own to read the generated key. All entities share this setup.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Exclude
     private long id;
 
@@ -28,12 +44,12 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     @ToString.Exclude
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     @ToString.Exclude
     private User booker;
@@ -43,5 +59,18 @@ public class Booking {
     @EqualsAndHashCode.Exclude
     private StatusOfBooking status;
 
+    /**
+     * Copy of {@code item.owner.id}, so the owner feed filters BOOKINGS alone. Items never change owners,
+     * so it is written once on insert.
+     */
+    @Column(name = "owner_id", updatable = false)
+    @EqualsAndHashCode.Exclude
+    private Long ownerId;
 
+    @PrePersist
+    void fillOwnerId() {
+        if (ownerId == null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
\ No newline at end of file
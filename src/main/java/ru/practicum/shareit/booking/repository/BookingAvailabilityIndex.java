@@ -0,0 +1,276 @@
+package ru.practicum.shareit.booking.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.util.InMemoryIndex;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory timeline of WAITING and APPROVED bookings per item, answering availability questions without
+ * a range scan.
+ * <p>
+ * Every item keeps its booked periods in arrays sorted by start together with a running maximum of the ends,
+ * so both "is [from, to) free" and the first period touching {@code from} are found by binary search.
+ * <p>
+ * Writes are applied after the surrounding transaction commits, so the index may briefly lag the database, and
+ * it never sees writes made by other instances until the next rebuild. It only answers
+ * {@code /items/{id}/availability}; booking validation checks overlaps in the database under the item lock.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex extends InMemoryIndex {
+    public static final List<StatusOfBooking> BLOCKING_STATUSES =
+            List.of(StatusOfBooking.WAITING, StatusOfBooking.APPROVED);
+
+    private final BookingRepository bookingRepo;
+    private final Map<Long, Timeline> timelines = new HashMap<>();
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepo, MeterRegistry meterRegistry,
+                                    @Value("${shareit.availability.index.enabled:false}") boolean enabled) {
+        super(meterRegistry, "shareit.availability.index", "booking availability index", enabled);
+        this.bookingRepo = bookingRepo;
+        gauge("shareit.availability.index.bookings", "Bookings held by the availability index", this::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuild(() -> {
+            timelines.clear();
+            try (Stream<BookingIntervalView> rows = bookingRepo.streamAllForAvailabilityIndex(BLOCKING_STATUSES)) {
+                rows.forEach(row -> timelines.computeIfAbsent(row.getItemId(), id -> new Timeline())
+                        .add(row.getId(), row.getBookerId(), toMicros(row.getStart()), toMicros(row.getEnd())));
+            }
+            log.info("Availability index rebuilt: {} items, {} bookings", timelines.size(), size());
+        });
+    }
+
+    /**
+     * Adds the booking to its item's timeline, or drops it when its status no longer blocks the period.
+     */
+    public void put(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        Long bookerId = booking.getBooker().getId();
+        long start = toMicros(booking.getStart());
+        long end = toMicros(booking.getEnd());
+        boolean blocking = BLOCKING_STATUSES.contains(booking.getStatus());
+        afterCommit(() -> {
+            if (blocking) {
+                timelines.computeIfAbsent(itemId, id -> new Timeline()).add(bookingId, bookerId, start, end);
+                return;
+            }
+            Timeline timeline = timelines.get(itemId);
+            if (timeline != null) {
+                timeline.remove(bookingId);
+            }
+        });
+    }
+
+    public void deleteItem(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> timelines.remove(itemId));
+    }
+
+    /**
+     * Forgets the cascaded {@code itemIds} with all their periods and the periods booked by the user elsewhere,
+     * all of which the database drops together with the user row.
+     */
+    public void deleteByUserId(Long userId, Collection<Long> itemIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> removed = List.copyOf(itemIds);
+        afterCommit(() -> {
+            removed.forEach(timelines::remove);
+            timelines.values().forEach(timeline -> timeline.removeBooker(userId));
+        });
+    }
+
+    public void clear() {
+        afterCommit(timelines::clear);
+    }
+
+    public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return read(() -> {
+            Timeline timeline = timelines.get(itemId);
+            return timeline != null && timeline.overlaps(toMicros(start), toMicros(end));
+        });
+    }
+
+    /**
+     * Free periods of the item inside {@code [from, to)} in chronological order. Falls back to the database
+     * while the index is not ready.
+     */
+    public List<FreeWindowDto> freeWindows(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!isReady()) {
+            Timeline timeline = new Timeline();
+            bookingRepo.findIntervalsByItemId(itemId, from, to, BLOCKING_STATUSES).forEach(row ->
+                    timeline.add(row.getId(), row.getBookerId(), toMicros(row.getStart()), toMicros(row.getEnd())));
+            return timeline.freeWindows(toMicros(from), toMicros(to));
+        }
+        return read(() -> {
+            Timeline timeline = timelines.get(itemId);
+            return timeline == null
+                    ? List.of(new FreeWindowDto(from, to))
+                    : timeline.freeWindows(toMicros(from), toMicros(to));
+        });
+    }
+
+    private int size() {
+        return timelines.values().stream().mapToInt(timeline -> timeline.size).sum();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Booked periods of one item as parallel arrays sorted by start. {@code maxEnds[i]} is the latest end among
+     * the first {@code i + 1} periods, which keeps lookups logarithmic even if legacy periods overlap.
+     */
+    private static final class Timeline {
+        private long[] bookingIds = new long[4];
+        private long[] bookerIds = new long[4];
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private long[] maxEnds = new long[4];
+        private int size;
+
+        void add(long bookingId, long bookerId, long start, long end) {
+            remove(bookingId);
+            if (size == starts.length) {
+                int capacity = size * 2;
+                bookingIds = Arrays.copyOf(bookingIds, capacity);
+                bookerIds = Arrays.copyOf(bookerIds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+            }
+            int position = firstStartNotBefore(start);
+            int tail = size - position;
+            System.arraycopy(bookingIds, position, bookingIds, position + 1, tail);
+            System.arraycopy(bookerIds, position, bookerIds, position + 1, tail);
+            System.arraycopy(starts, position, starts, position + 1, tail);
+            System.arraycopy(ends, position, ends, position + 1, tail);
+            bookingIds[position] = bookingId;
+            bookerIds[position] = bookerId;
+            starts[position] = start;
+            ends[position] = end;
+            size++;
+            recomputeMaxEnds(position);
+        }
+
+        void remove(long bookingId) {
+            for (int i = 0; i < size; i++) {
+                if (bookingIds[i] == bookingId) {
+                    removeAt(i);
+                    return;
+                }
+            }
+        }
+
+        void removeBooker(long bookerId) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (bookerIds[i] == bookerId) {
+                    removeAt(i);
+                }
+            }
+        }
+
+        boolean overlaps(long from, long to) {
+            int before = firstStartNotBefore(to);
+            return before > 0 && maxEnds[before - 1] > from;
+        }
+
+        List<FreeWindowDto> freeWindows(long from, long to) {
+            List<FreeWindowDto> windows = new ArrayList<>();
+            int last = firstStartNotBefore(to);
+            long cursor = from;
+            for (int i = firstMaxEndAfter(from); i < last; i++) {
+                if (starts[i] > cursor) {
+                    windows.add(new FreeWindowDto(fromMicros(cursor), fromMicros(starts[i])));
+                }
+                cursor = Math.max(cursor, ends[i]);
+            }
+            if (cursor < to) {
+                windows.add(new FreeWindowDto(fromMicros(cursor), fromMicros(to)));
+            }
+            return windows;
+        }
+
+        private void removeAt(int position) {
+            int tail = size - position - 1;
+            System.arraycopy(bookingIds, position + 1, bookingIds, position, tail);
+            System.arraycopy(bookerIds, position + 1, bookerIds, position, tail);
+            System.arraycopy(starts, position + 1, starts, position, tail);
+            System.arraycopy(ends, position + 1, ends, position, tail);
+            size--;
+            recomputeMaxEnds(position);
+        }
+
+        private void recomputeMaxEnds(int from) {
+            long max = from > 0 ? maxEnds[from - 1] : Long.MIN_VALUE;
+            for (int i = from; i < size; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        private int firstStartNotBefore(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int firstMaxEndAfter(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (maxEnds[middle] <= time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingFilterRepository {
+    /**
+     * One page of bookings matching {@code specification}, newest start first, fetched with
+     * {@link Booking#RESPONSE_GRAPH} and without a count query.
+     */
+    List<Booking> findPage(Specification<Booking> specification, long offset, int limit);
+}
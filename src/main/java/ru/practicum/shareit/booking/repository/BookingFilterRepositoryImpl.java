@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingFilterRepositoryImpl implements BookingFilterRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Booking> findPage(Specification<Booking> specification, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Predicate predicate = specification.toPredicate(booking, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(booking).orderBy(builder.desc(booking.get("start")), builder.desc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(EntityGraph.EntityGraphType.FETCH.getKey(), entityManager.getEntityGraph(Booking.RESPONSE_GRAPH))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
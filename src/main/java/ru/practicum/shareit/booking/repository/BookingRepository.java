@@ -1,37 +1,86 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, PageRequest of);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime startTime, PageRequest of);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFilterRepository {
+    @Override
+    @EntityGraph(Booking.RESPONSE_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime startTime);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime startTime, PageRequest of);
+    /**
+     * Whether a booking of the item in one of {@code statuses} intersects {@code [start, end)}.
+     */
+    @Query("select count(b) > 0 from Booking b where b.item.id = ?1 and b.status in ?4 " +
+            "and b.end > ?2 and b.start < ?3")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end,
+                              Collection<StatusOfBooking> statuses);
 
-    List<Booking> findAllByItemIdAndStartBeforeOrderByStart(Long itemId, LocalDateTime startTime);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select b.id as id, b.item.id as itemId, b.ownerId as ownerId, b.booker.id as bookerId, " +
+            "b.start as start, b.end as end from Booking b where b.status in ?1")
+    Stream<BookingIntervalView> streamAllForAvailabilityIndex(Collection<StatusOfBooking> statuses);
 
-    List<Booking> findAllByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime startTime);
+    @Query("select b.id as id, b.item.id as itemId, b.ownerId as ownerId, b.booker.id as bookerId, " +
+            "b.start as start, b.end as end from Booking b where b.item.id = ?1 and b.status in ?4 " +
+            "and b.end > ?2 and b.start < ?3 order by b.start")
+    List<BookingIntervalView> findIntervalsByItemId(Long itemId, LocalDateTime from, LocalDateTime to,
+                                                    Collection<StatusOfBooking> statuses);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime startTime, LocalDateTime endTime, PageRequest of);
+    @Query("select b.id as id, b.item.id as itemId, b.ownerId as ownerId, b.booker.id as bookerId, " +
+            "b.start as start, b.end as end from Booking b where b.item.id in ?1 and b.status in ?4 " +
+            "and b.end > ?2 and b.start < ?3")
+    List<BookingIntervalView> findIntervalsByItemIdIn(Collection<Long> itemIds, LocalDateTime from,
+                                                      LocalDateTime to, Collection<StatusOfBooking> statuses);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, PageRequest pageRequest);
+    /**
+     * Moves the booking from {@code expected} to {@code status} in one statement, provided it belongs to an item of
+     * {@code ownerId}. Returns the number of updated rows, so 0 means the booking is missing, foreign or already
+     * decided.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?4 where b.id = ?1 and b.status = ?3 " +
+            "and b.ownerId = ?2")
+    int updateStatusOfOwnersBooking(Long bookingId, Long ownerId, StatusOfBooking expected, StatusOfBooking status);
 
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime startTime, PageRequest pageRequest);
+    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime startTime);
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime startTime, LocalDateTime endTime, PageRequest pageRequest);
+    /**
+     * Bookings of the item in {@code status} that started before {@code startTime}, latest first. Written out because
+     * the derived {@code findFirstByItemId...} form joins ITEMS on {@code item.id} and loses the
+     * (ITEM_ID, STATUS, START_DATE) index.
+     */
+    @Query("select b from Booking b where b.item.id = ?1 and b.status = ?2 and b.start < ?3 order by b.start desc")
+    List<Booking> findStartedBefore(Long itemId, StatusOfBooking status, LocalDateTime startTime, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now, PageRequest pageRequest);
+    @Query("select b from Booking b where b.item.id = ?1 and b.status = ?2 and b.start > ?3 order by b.start asc")
+    List<Booking> findStartingAfter(Long itemId, StatusOfBooking status, LocalDateTime startTime, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, PageRequest pageRequest, StatusOfBooking valueOf);
+    @Query("select b from Booking b join fetch b.item " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start < ?3 " +
+            "and b.start = (select max(lb.start) from Booking lb " +
+            "where lb.item.id = b.item.id and lb.status = ?2 and lb.start < ?3)")
+    List<Booking> findLastBookingsOfItems(Collection<Long> itemIds, StatusOfBooking status, LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId, PageRequest pageRequest, StatusOfBooking valueOf);
-}
\ No newline at end of file
+    @Query("select b from Booking b join fetch b.item " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start > ?3 " +
+            "and b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item.id = b.item.id and nb.status = ?2 and nb.start > ?3)")
+    List<Booking> findNextBookingsOfItems(Collection<Long> itemIds, StatusOfBooking status, LocalDateTime now);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Building blocks of the booking list filter. A {@code null} result means "no restriction", which
+ * {@link Specification#and} skips.
+ */
+@UtilityClass
+public class BookingSpecifications {
+    public static Specification<Booking> bookedBy(Long bookerId) {
+        return (booking, query, builder) -> builder.equal(booking.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> ownedBy(Long ownerId) {
+        return (booking, query, builder) -> builder.equal(booking.get("ownerId"), ownerId);
+    }
+
+    /**
+     * Restricts bookings to {@code state} as seen at {@code now}; every time comparison uses the same instant.
+     */
+    public static Specification<Booking> inState(State state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return null;
+            case CURRENT:
+                return (booking, query, builder) -> builder.and(
+                        builder.lessThan(booking.get("start"), now),
+                        builder.greaterThan(booking.get("end"), now));
+            case PAST:
+                return (booking, query, builder) -> builder.lessThan(booking.get("end"), now);
+            case FUTURE:
+                return (booking, query, builder) -> builder.greaterThan(booking.get("start"), now);
+            case WAITING:
+            case REJECTED:
+                return withStatus(StatusOfBooking.valueOf(state.name()));
+            default:
+                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    public static Specification<Booking> withStatus(StatusOfBooking status) {
+        if (status == null) {
+            return null;
+        }
+        return (booking, query, builder) -> builder.equal(booking.get("status"), status);
+    }
+
+    /**
+     * Bookings following {@code cursor} in the (start desc, id desc) order of the feed.
+     */
+    public static Specification<Booking> after(PageCursor cursor) {
+        return (booking, query, builder) -> builder.or(
+                builder.lessThan(booking.get("start"), cursor.getTimestamp()),
+                builder.and(
+                        builder.equal(booking.get("start"), cursor.getTimestamp()),
+                        builder.lessThan(booking.get("id"), cursor.getId())));
+    }
+}
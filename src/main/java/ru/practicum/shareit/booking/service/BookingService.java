@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
 
 import java.util.List;
 
@@ -10,11 +12,21 @@ public interface BookingService {
 
     BookingResponseDto addNewBooking(Long bookerId, BookingRequestDto dto);
 
+    List<BookingBatchResultDto> addNewBookings(Long bookerId, List<BookingRequestDto> dtos);
+
     BookingResponseDto approveBooking(Long ownerId, Long bookingId, Boolean approved);
 
     BookingResponseDto getBooking(Long bookingId, Long userId);
 
-    List<BookingResponseDto> getBookings(Long bookerId, State state, Integer from, Integer size);
+    List<BookingResponseDto> getBookings(Long bookerId, State state, StatusOfBooking status, Integer from,
+                                         Integer size);
+
+    List<BookingResponseDto> getBookingsForOwner(Long ownerId, State state, StatusOfBooking status, int from,
+                                                 int size);
+
+    List<BookingResponseDto> getBookingsAfterCursor(Long bookerId, State state, StatusOfBooking status,
+                                                    String cursor, Integer size);
 
-    List<BookingResponseDto> getBookingsForOwner(Long ownerId, State state, int from, int size);
+    List<BookingResponseDto> getBookingsForOwnerAfterCursor(Long ownerId, State state, StatusOfBooking status,
+                                                            String cursor, Integer size);
 }
\ No newline at end of file
@@ -3,36 +3,74 @@ package ru.practicum.shareit.booking.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchEntry;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingMapperService;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @AllArgsConstructor
 @Service("BookingService")
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private BookingRepository bookingRepo;
     private BookingMapperService bookingMapperService;
+    private BookingAvailabilityIndex availabilityIndex;
 
     @Override
+    @Transactional
     public BookingResponseDto addNewBooking(Long bookerId, BookingRequestDto dto) {
         Booking bookingForSave = bookingMapperService.bookingRequestPrepareForAdd(bookerId, dto);
         Booking newBooking = bookingRepo.save(bookingForSave);
+        availabilityIndex.put(newBooking);
         return BookingMapper.entityToResponseDto(newBooking).get();
     }
 
+    /**
+     * Saves the accepted entries of the batch in one go; with sequence ids Hibernate sends them to the
+     * database as JDBC batches on flush. Rejected entries are reported with their reason.
+     */
     @Override
+    @Transactional
+    public List<BookingBatchResultDto> addNewBookings(Long bookerId, List<BookingRequestDto> dtos) {
+        List<BookingBatchEntry> entries = bookingMapperService.bookingRequestsPrepareForAdd(bookerId, dtos);
+        List<Booking> newBookings = bookingRepo.saveAll(entries.stream()
+                .filter(BookingBatchEntry::isAccepted)
+                .map(BookingBatchEntry::getBooking)
+                .collect(Collectors.toList()));
+        newBookings.forEach(availabilityIndex::put);
+
+        List<BookingBatchResultDto> results = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BookingBatchEntry entry = entries.get(i);
+            results.add(BookingBatchResultDto.builder()
+                    .index(i)
+                    .booking(entry.isAccepted() ? BookingMapper.entityToResponseDto(entry.getBooking()).get() : null)
+                    .error(entry.getError())
+                    .build());
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
     public BookingResponseDto approveBooking(Long ownerId, Long bookingId, Boolean approved) {
-        Booking bookingWithStatus = bookingMapperService.addStatusToBooking(ownerId, bookingId, approved);
-        Booking updateBooking = bookingRepo.save(bookingWithStatus);
-        return BookingMapper.entityToResponseDto(updateBooking).get();
+        Booking updatedBooking = bookingMapperService.addStatusToBooking(ownerId, bookingId, approved);
+        availabilityIndex.put(updatedBooking);
+        return BookingMapper.entityToResponseDto(updatedBooking).get();
     }
 
     @Override
@@ -45,13 +83,26 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getBookings(Long bookerId, State state, Integer from, Integer size) {
-        return bookingMapperService.prepareResponseDtoList(bookerId, state, from, size);
+    public List<BookingResponseDto> getBookings(Long bookerId, State state, StatusOfBooking status, Integer from,
+                                                Integer size) {
+        return bookingMapperService.prepareResponseDtoList(bookerId, state, status, from, size);
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsForOwner(Long ownerId, State state,
+    public List<BookingResponseDto> getBookingsForOwner(Long ownerId, State state, StatusOfBooking status,
                                                         int from, int size) {
-        return bookingMapperService.prepareResponseDtoListForOwner(ownerId, state, from, size);
+        return bookingMapperService.prepareResponseDtoListForOwner(ownerId, state, status, from, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getBookingsAfterCursor(Long bookerId, State state, StatusOfBooking status,
+                                                           String cursor, Integer size) {
+        return bookingMapperService.prepareResponseDtoListAfterCursor(bookerId, state, status, cursor, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getBookingsForOwnerAfterCursor(Long ownerId, State state, StatusOfBooking status,
+                                                                   String cursor, Integer size) {
+        return bookingMapperService.prepareResponseDtoListForOwnerAfterCursor(ownerId, state, status, cursor, size);
     }
-}
\ No newline at end of file
+}
@@ -37,6 +37,13 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(final RuntimeException e) {
+        return new ErrorResponse(
+                e.getMessage()
+        );
+    }
 
     @ExceptionHandler(UncheckedIOException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -2,16 +2,22 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Utils.SHARER_USER_ID;
@@ -22,6 +28,8 @@ import static ru.practicum.shareit.util.Utils.SHARER_USER_ID;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -33,6 +41,17 @@ public class BookingController {
         return bookingDtoFromRepo;
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addBatch(@RequestHeader(SHARER_USER_ID) Long bookerId,
+                                                @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                List<@Valid BookingRequestDto> bookingDtos) {
+        log.info("Add batch of {} bookings by user id {} - Started", bookingDtos.size(), bookerId);
+        List<BookingBatchResultDto> results = bookingService.addNewBookings(bookerId, bookingDtos);
+        log.info("Create batch of bookings: {} of {} accepted - Finished",
+                results.stream().filter(result -> result.getError() == null).count(), results.size());
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto approve(@RequestHeader(SHARER_USER_ID) Long ownerId,
                                       @PathVariable Long bookingId,
@@ -53,25 +72,33 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookings(@RequestHeader(SHARER_USER_ID) Long bookerId,
-                                                @RequestParam(defaultValue = "ALL") State state,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public ResponseEntity<List<BookingResponseDto>> getBookings(@RequestHeader(SHARER_USER_ID) Long bookerId,
+                                                                @RequestParam(defaultValue = "ALL") State state,
+                                                                @RequestParam(required = false) StatusOfBooking status,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                                @RequestParam(required = false) String cursor) {
         log.info("Search user's (id {}) {} bookings - Started", bookerId, state);
-        List<BookingResponseDto> bookingsOfUser = bookingService.getBookings(bookerId, state, from, size);
+        List<BookingResponseDto> bookingsOfUser = cursor == null
+                ? bookingService.getBookings(bookerId, state, status, from, size)
+                : bookingService.getBookingsAfterCursor(bookerId, state, status, cursor, size);
         log.info("{} {} bookings was found", bookingsOfUser.size(), state);
-        return bookingsOfUser;
+        return PageCursor.response(bookingsOfUser, size, BookingResponseDto::getStart, BookingResponseDto::getId);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsOwner(@RequestHeader(SHARER_USER_ID) Long ownerId,
-                                                     @RequestParam(defaultValue = "ALL") State state,
-                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                     @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public ResponseEntity<List<BookingResponseDto>> getBookingsOwner(@RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                                     @RequestParam(defaultValue = "ALL") State state,
+                                                                     @RequestParam(required = false) StatusOfBooking status,
+                                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                     @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                                     @RequestParam(required = false) String cursor) {
         log.info("Search {} bookings of owner's (id {}) items - Started", state, ownerId);
-        List<BookingResponseDto> bookingsOfOwnerItems =
-                bookingService.getBookingsForOwner(ownerId, state, from, size);
+        List<BookingResponseDto> bookingsOfOwnerItems = cursor == null
+                ? bookingService.getBookingsForOwner(ownerId, state, status, from, size)
+                : bookingService.getBookingsForOwnerAfterCursor(ownerId, state, status, cursor, size);
         log.info("{} {} bookings was found", state, bookingsOfOwnerItems.size());
-        return bookingsOfOwnerItems;
+        return PageCursor.response(bookingsOfOwnerItems, size, BookingResponseDto::getStart,
+                BookingResponseDto::getId);
     }
-}
\ No newline at end of file
+}
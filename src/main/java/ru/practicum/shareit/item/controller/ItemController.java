@@ -2,18 +2,31 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 
 import static ru.practicum.shareit.util.Utils.SHARER_USER_ID;
 
+@Validated
 @RestController
 @RequestMapping(path = "/items")
 @Slf4j
@@ -36,6 +49,16 @@ public class ItemController {
         return commentDto;
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                        @RequestParam(required = false) String cursor) {
+        log.info("Get comments of item id {} - Started", itemId);
+        List<CommentDto> comments = itemService.getComments(itemId, cursor, size);
+        log.info("{} comments of item id {} were found - Finished", comments.size(), itemId);
+        return PageCursor.response(comments, size, CommentDto::getCreated, CommentDto::getId);
+    }
+
     @PostMapping
     public ItemDto add(@RequestHeader(SHARER_USER_ID) Long ownerId,
                        @RequestBody ItemDto itemDto) {
@@ -45,6 +68,16 @@ public class ItemController {
         return itemDtoFromRepo;
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResultDto importItems(@RequestHeader(SHARER_USER_ID) Long ownerId,
+                                           InputStream items) {
+        log.info("Import items of user id {} - Started", ownerId);
+        ItemImportResultDto result = itemService.importItems(ownerId, items);
+        log.info("Import items of user id {}: {} accepted, {} rejected - Finished",
+                ownerId, result.getAccepted(), result.getRejected());
+        return result;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(SHARER_USER_ID) Long userId,
                           @PathVariable Long itemId,
@@ -73,13 +106,29 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam String text) {
+    public Collection<ItemDto> searchItems(@RequestParam String text,
+                                           @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                           @RequestParam(defaultValue = "20") @Positive Integer size) {
         log.info("Search for available items with text '{}' - Started", text.toLowerCase());
-        Collection<ItemDto> searchResult = itemService.searchForItems(text);
+        Collection<ItemDto> searchResult = itemService.searchForItems(text, from, size);
         log.info("{} available items with text '{}' was found - Finished", searchResult.size(), text.toLowerCase());
         return searchResult;
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime periodStart = from != null ? from : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime periodEnd = to != null ? to : periodStart.plusMonths(1);
+        log.info("Availability of item id {} for {} - {} - Started", itemId, periodStart, periodEnd);
+        ItemAvailabilityDto availability = itemService.getAvailability(itemId, periodStart, periodEnd);
+        log.info("{} free windows of item id {} were found - Finished", availability.getFreeWindows().size(), itemId);
+        return availability;
+    }
+
     @DeleteMapping("/{itemId}")
     public void deleteItem(@RequestHeader(SHARER_USER_ID) Long userId,
                            @PathVariable Long itemId) {
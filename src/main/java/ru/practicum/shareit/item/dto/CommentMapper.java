@@ -27,4 +27,13 @@ public final class CommentMapper {
         commentDto.setCreated(comment.getCreated());
         return commentDto;
     }
+
+    public CommentDto viewToDto(CommentView view) {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setId(view.getId());
+        commentDto.setText(view.getText());
+        commentDto.setAuthorName(view.getAuthorName());
+        commentDto.setCreated(view.getCreated());
+        return commentDto;
+    }
 }
\ No newline at end of file
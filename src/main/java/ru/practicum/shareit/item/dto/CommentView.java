@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a comment together with its author's name.
+ */
+public interface CommentView {
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    Long getItemId();
+}
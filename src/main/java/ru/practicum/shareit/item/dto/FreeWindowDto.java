@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class FreeWindowDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
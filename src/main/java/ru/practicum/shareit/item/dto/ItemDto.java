@@ -19,7 +19,11 @@ public class ItemDto {
     private Long ownerId;
     private Long requestId;
 
+    /**
+     * Latest comments, newest first; the rest are served by GET /items/{id}/comments.
+     */
     private List<CommentDto> comments;
+    private Long commentCount;
 
     private BookingForItemDto lastBooking;
     private BookingForItemDto nextBooking;
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ItemImportErrorDto {
+    private long row;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ItemImportResultDto {
+    private long accepted;
+    private long rejected;
+    /**
+     * Reasons for the first rejected rows; {@link #rejected} counts all of them.
+     */
+    private List<ItemImportErrorDto> errors;
+}
@@ -2,12 +2,15 @@ package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
 public interface ItemMapperService {
     Item addNewItem(Long ownerId, ItemDto itemDto);
 
+    Item prepareItemForImport(User owner, ItemDto itemDto);
+
     ItemDto getItemDto(Item item, Long userId);
 
     List<ItemDto> getItems(List<Item> allItems);
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -22,13 +24,18 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @AllArgsConstructor
 public class ItemMapperServiceImpl implements ItemMapperService {
+    public static final int LATEST_COMMENTS_LIMIT = 10;
+    private static final Pageable FIRST_BOOKING = PageRequest.of(0, 1);
+
     private final UserService userService;
     private final CommentRepository commentRepo;
     private final BookingRepository bookingRepo;
@@ -40,17 +47,16 @@ public class ItemMapperServiceImpl implements ItemMapperService {
         itemDtoValidate(ownerId, itemDto);
         User owner = UserMapper.makeUserWithId(userService.getUser(ownerId)).get();
 
-        Item item = new Item();
-
-        if (itemDto.getRequestId() == null) {
-            item = ItemMapper.makeItem(itemDto, owner).get();
-        } else {
-            ItemRequest request = itemRequestRepo.findById(itemDto.getRequestId())
-                    .orElseThrow(() -> new ItemRequestNotFoundException("ItemRequest Not Found!"));
-            item = ItemMapper.makeItemWithRequest(itemDto, owner, request).get();
-        }
+        return makeItem(itemDto, owner);
+    }
 
-        return item;
+    /**
+     * Same checks as {@link #addNewItem}, except the owner, which an import checks once for all rows.
+     */
+    @Override
+    public Item prepareItemForImport(User owner, ItemDto itemDto) {
+        itemFieldsValidate(itemDto);
+        return makeItem(itemDto, owner);
     }
 
     @Override
@@ -63,61 +69,29 @@ public class ItemMapperServiceImpl implements ItemMapperService {
         }
     }
 
-    //    @Override
-//    public List<ItemDto> getItems(List<Item> allItems) {
-//        List<BookingForItemDto> allBookings = findAllBookings();
-//        List<CommentDto> allComments = findAllComments();
-//        List<ItemDto> itemDtos = new ArrayList<>();
-//
-//        for (Item item : allItems) {
-//            BookingForItemDto nextBooking = allBookings.stream()
-//                    .filter(b -> Objects.equals(b.getItem().getId(), item.getId()))
-//                    .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-//                    .min(Comparator.comparing(BookingForItemDto::getStart))
-//                    .orElse(null);
-//
-//            BookingForItemDto lastBooking = allBookings.stream()
-//                    .filter(b -> Objects.equals(b.getItem().getId(), item.getId()))
-//                    .filter(b -> b.getStart().isBefore(LocalDateTime.now()))
-//                    .max(Comparator.comparing(BookingForItemDto::getStart))
-//                    .orElse(null);
-//
-//            List<CommentDto> allCommentsById = allComments
-//                    .stream()
-//                    .filter(c -> Objects.equals(c.getItem().getId(), item.getId()))
-//                    .collect(Collectors.toList());
-//
-//            itemDtos.add(ItemMapper.makeDtoFromItemWithBooking(
-//                    item,
-//                    allCommentsById,
-//                    lastBooking,
-//                    nextBooking).orElse(null));
-//        }
-//
-//
-//        return itemDtos;
-//    }
+    @Override
     public List<ItemDto> getItems(List<Item> allItems) {
+        if (allItems.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = allItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, List<CommentDto>> commentsByItem = findCommentsToItems(itemIds);
+        Map<Long, BookingForItemDto> lastBookings = groupByItem(bookingRepo.findLastBookingsOfItems(itemIds,
+                StatusOfBooking.APPROVED, now));
+        Map<Long, BookingForItemDto> nextBookings = groupByItem(bookingRepo.findNextBookingsOfItems(itemIds,
+                StatusOfBooking.APPROVED, now));
+
         return allItems.stream()
-                .map(item -> ItemMapper.makeDtoFromItemWithBooking(item, findCommentsToItem(item),
-                        findLastBooking(item), findNextBooking(item)).get())
+                .map(item -> ItemMapper.makeDtoFromItemWithBooking(item,
+                        commentsByItem.getOrDefault(item.getId(), new ArrayList<>()),
+                        lastBookings.get(item.getId()), nextBookings.get(item.getId())).get())
                 .collect(Collectors.toList());
     }
 
-//    private List<CommentDto> findAllComments() {
-//        return commentRepo.findAll()
-//                .stream()
-//                .map(CommentMapper::entityToDto)
-//                .collect(Collectors.toList());
-//    }
-//
-//    private List<BookingForItemDto> findAllBookings() {
-//        List<Booking> allBookings = bookingRepo.findAll();
-//        return allBookings.stream()
-//                .map(booking -> BookingMapper.entityToBookingForItemDto(booking).orElse(null))
-//                .collect(Collectors.toList());
-//    }
-
     @Override
     public ItemDto getItemDtoForUser(Item item, List<CommentDto> commentsForItemDto) {
         return ItemMapper.makeDtoFromItemWithComment(item, commentsForItemDto).get();
@@ -159,7 +133,21 @@ public class ItemMapperServiceImpl implements ItemMapperService {
         return comment;
     }
 
+    private Item makeItem(ItemDto itemDto, User owner) {
+        if (itemDto.getRequestId() == null) {
+            return ItemMapper.makeItem(itemDto, owner).get();
+        }
+        ItemRequest request = itemRequestRepo.findById(itemDto.getRequestId())
+                .orElseThrow(() -> new ItemRequestNotFoundException("ItemRequest Not Found!"));
+        return ItemMapper.makeItemWithRequest(itemDto, owner, request).get();
+    }
+
     private void itemDtoValidate(long userId, ItemDto itemDto) {
+        itemFieldsValidate(itemDto);
+        userService.validateUserExists(userId);
+    }
+
+    private void itemFieldsValidate(ItemDto itemDto) {
         String name = itemDto.getName();
         String description = itemDto.getDescription();
 
@@ -175,39 +163,40 @@ public class ItemMapperServiceImpl implements ItemMapperService {
             log.warn("Available-status of item {} can't be null!", itemDto);
             throw new IncorrectItemDtoException("Available-status of item not found");
         }
-        userService.getUser(userId);
     }
 
     private BookingForItemDto findNextBooking(Item item) {
-        List<Booking> allNextBooking = bookingRepo.findAllByItemIdAndStartAfterOrderByStartAsc(item.getId(),
-                LocalDateTime.now());
-        allNextBooking = allNextBooking.stream()
-                .filter(booking -> booking.getStatus().equals(StatusOfBooking.APPROVED))
-                .collect(Collectors.toList());
-        BookingForItemDto nextBooking;
-        if (allNextBooking.size() > 0) {
-            nextBooking = BookingMapper.entityToBookingForItemDto(allNextBooking.get(0)).get();
-        } else nextBooking = null;
-        return nextBooking;
+        return bookingRepo.findStartingAfter(item.getId(),
+                        StatusOfBooking.APPROVED, LocalDateTime.now(), FIRST_BOOKING).stream()
+                .findFirst()
+                .flatMap(BookingMapper::entityToBookingForItemDto)
+                .orElse(null);
     }
 
     private BookingForItemDto findLastBooking(Item item) {
-        List<Booking> allLastBooking = bookingRepo.findAllByItemIdAndStartBeforeOrderByStart(item.getId(),
-                LocalDateTime.now());
-        allLastBooking = allLastBooking.stream()
-                .filter(booking -> booking.getStatus().equals(StatusOfBooking.APPROVED))
-                .collect(Collectors.toList());
-        BookingForItemDto lastBooking = new BookingForItemDto();
-        if (allLastBooking.size() > 0) {
-            lastBooking = BookingMapper.entityToBookingForItemDto(allLastBooking.get(allLastBooking.size() - 1)).get();
-        } else lastBooking = null;
-        return lastBooking;
+        return bookingRepo.findStartedBefore(item.getId(),
+                        StatusOfBooking.APPROVED, LocalDateTime.now(), FIRST_BOOKING).stream()
+                .findFirst()
+                .flatMap(BookingMapper::entityToBookingForItemDto)
+                .orElse(null);
+    }
+
+    private Map<Long, List<CommentDto>> findCommentsToItems(List<Long> itemIds) {
+        return commentRepo.findLatestByItemIdIn(itemIds, LATEST_COMMENTS_LIMIT).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::viewToDto, Collectors.toList())));
+    }
+
+    private Map<Long, BookingForItemDto> groupByItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        booking -> BookingMapper.entityToBookingForItemDto(booking).get(),
+                        (first, second) -> first.getId() > second.getId() ? first : second));
     }
 
     private List<CommentDto> findCommentsToItem(Item item) {
-        List<Comment> commentsForItem = commentRepo.findAllByItemIdOrderById(item.getId());
-        return commentsForItem.stream()
-                .map(CommentMapper::entityToDto)
+        return commentRepo.findLatestByItemIdIn(List.of(item.getId()), LATEST_COMMENTS_LIMIT).stream()
+                .map(CommentMapper::viewToDto)
                 .collect(Collectors.toList());
     }
 
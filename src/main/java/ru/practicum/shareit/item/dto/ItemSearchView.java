@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Read-only projection of the item columns the search endpoint returns.
+ */
+public interface ItemSearchView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+}
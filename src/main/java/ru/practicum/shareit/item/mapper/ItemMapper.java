@@ -5,6 +5,7 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -51,6 +52,10 @@ public final class ItemMapper {
         itemUpd.setDescription(oldItemDto.getDescription());
         itemUpd.setName(oldItemDto.getName());
 
+        if (oldItemDto.getCommentCount() != null) {
+            itemUpd.setCommentCount(oldItemDto.getCommentCount());
+        }
+
         if (itemDtoWithUpdate.getName() != null) {
             itemUpd.setName(itemDtoWithUpdate.getName());
         }
@@ -72,6 +77,7 @@ public final class ItemMapper {
         itemDto.setName(item.getName());
         itemDto.setId(item.getId());
         itemDto.setOwnerId(item.getOwner().getId());
+        itemDto.setCommentCount(item.getCommentCount());
         if (item.getRequest() != null) {
             itemDto.setRequestId(item.getRequest().getId());
         }
@@ -79,6 +85,18 @@ public final class ItemMapper {
         return Optional.of(itemDto);
     }
 
+    public Optional<ItemDto> makeDtoFromSearchView(ItemSearchView view) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setAvailable(view.getAvailable());
+        itemDto.setDescription(view.getDescription());
+        itemDto.setName(view.getName());
+        itemDto.setId(view.getId());
+        itemDto.setOwnerId(view.getOwnerId());
+        itemDto.setRequestId(view.getRequestId());
+
+        return Optional.of(itemDto);
+    }
+
     public Optional<ItemDto> makeDtoFromItemWithBooking(Item item, List<CommentDto> commentsForItemDto, BookingForItemDto lastBooking,
                                                         BookingForItemDto nextBooking) {
         ItemDto itemDto = new ItemDto();
@@ -88,6 +106,7 @@ public final class ItemMapper {
         itemDto.setId(item.getId());
         itemDto.setOwnerId(item.getOwner().getId());
         itemDto.setComments(commentsForItemDto);
+        itemDto.setCommentCount(item.getCommentCount());
 
         itemDto.setLastBooking(lastBooking);
         itemDto.setNextBooking(nextBooking);
@@ -107,6 +126,7 @@ public final class ItemMapper {
         itemDto.setId(item.getId());
         itemDto.setOwnerId(item.getOwner().getId());
         itemDto.setComments(commentsForItemDto);
+        itemDto.setCommentCount(item.getCommentCount());
 
         if (item.getRequest() != null) {
             itemDto.setRequestId(item.getRequest().getId());
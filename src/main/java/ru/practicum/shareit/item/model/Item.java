@@ -18,7 +18,8 @@ import javax.persistence.*;
 @EqualsAndHashCode
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_seq")
+    @SequenceGenerator(name = "items_id_seq", sequenceName = "items_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Exclude
     private Long id;
 
@@ -37,10 +38,17 @@ public class Item {
     @EqualsAndHashCode.Exclude
     private Boolean isAvailable;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private ItemRequest request;
 
+    /**
+     * Number of comments on the item. Written only by {@link ru.practicum.shareit.item.repository.ItemRepository}
+     * update queries, never by saving the entity.
+     */
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    private long commentCount;
 }
\ No newline at end of file
@@ -2,25 +2,41 @@ package ru.practicum.shareit.item.model;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
     ItemDto addNewItem(Long userId, ItemDto itemDto);
 
+    ItemImportResultDto importItems(Long ownerId, InputStream items);
+
     ItemDto getItem(Long itemId, Long userId);
 
     List<ItemDto> getItems(Long userId);
 
+    boolean ownerHasItems(Long ownerId);
+
+    void lockItemForBooking(Long itemId);
+
+    List<Item> lockItemsForBooking(Collection<Long> itemIds);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
     void deleteItem(Long userId, Long itemId);
 
     void clearAll();
 
-    Collection<ItemDto> searchForItems(String text);
+    Collection<ItemDto> searchForItems(String text, Integer from, Integer size);
 
     CommentDto addNewCommentToItem(CommentRequestDto requestDto);
+
+    List<CommentDto> getComments(Long itemId, String cursor, Integer size);
 }
\ No newline at end of file
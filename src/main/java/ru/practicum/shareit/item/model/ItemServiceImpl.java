@@ -1,42 +1,122 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.exception.IncorrectIdException;
+import ru.practicum.shareit.exception.IncorrectItemDtoException;
+import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemMapperService;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service("itemService")
 @Slf4j
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    static final int IMPORT_BATCH_SIZE = 50;
+    static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+
     private final ItemRepository itemRepo;
     private final UserService userService;
     private final CommentRepository commentRepo;
     private final ItemMapperService itemMapperService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional
     public ItemDto addNewItem(Long ownerId, ItemDto itemDto) {
         Item itemForSave = itemMapperService.addNewItem(ownerId, itemDto);
         Item item = itemRepo.save(itemForSave);
+        itemSearchIndex.put(item);
         return ItemMapper.makeDtoFromItem(item).get();
     }
 
+    /**
+     * Reads items one by one from a JSON array or newline-delimited JSON and saves them in JDBC batches,
+     * each committed in its own transaction. Only the current batch is held, in the persistence context and
+     * in the search index hook alike, so memory does not grow with the input. Invalid rows are reported and
+     * skipped; a syntax error stops the import, keeping the batches committed before it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemImportResultDto importItems(Long ownerId, InputStream items) {
+        User owner = UserMapper.makeUserWithId(userService.getUser(ownerId)).get();
+        ItemImportResultDto result = new ItemImportResultDto(0, 0, new ArrayList<>());
+        Map<Long, Item> batch = new LinkedHashMap<>();
+        long row = 0;
+        try (MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(items)) {
+            while (rows.hasNextValue()) {
+                JsonNode node = rows.nextValue();
+                row++;
+                try {
+                    batch.put(row, itemMapperService.prepareItemForImport(owner,
+                            objectMapper.treeToValue(node, ItemDto.class)));
+                } catch (JsonProcessingException e) {
+                    rejectImportRow(result, row, "Malformed item: " + e.getOriginalMessage());
+                } catch (IncorrectItemDtoException | ItemRequestNotFoundException e) {
+                    rejectImportRow(result, row, e.getMessage());
+                }
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    saveImportBatch(batch, result);
+                }
+            }
+            saveImportBatch(batch, result);
+        } catch (JsonProcessingException e) {
+            log.warn("Импорт вещей пользователя {} прерван после элемента {}: {}", ownerId, row, e.getOriginalMessage());
+            throw new ValidationException("Malformed JSON after item " + row + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        result.getErrors().sort(Comparator.comparingLong(ItemImportErrorDto::getRow));
+        log.info("Imported {} items of user id {}, rejected {}", result.getAccepted(), ownerId, result.getRejected());
+        return result;
+    }
+
     @Override
     public ItemDto getItem(Long itemId, Long userId) {
         validateId(itemId);
@@ -53,39 +133,154 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    public boolean ownerHasItems(Long ownerId) {
+        return itemRepo.existsByOwnerId(ownerId);
+    }
+
+    /**
+     * Serializes booking of one item: the row lock is held by the caller's transaction until the new
+     * booking is committed, so concurrent bookers check for overlaps one after another.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockItemForBooking(Long itemId) {
+        itemRepo.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+    }
+
+    /**
+     * Batch variant of {@link #lockItemForBooking}: locks and returns the existing items among {@code itemIds}.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Item> lockItemsForBooking(Collection<Long> itemIds) {
+        return itemRepo.findAllByIdInForUpdate(itemIds);
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        validateId(itemId);
+        if (!from.isBefore(to)) {
+            log.warn("Период {} - {} задан неверно", from, to);
+            throw new ValidationException("Availability period start must be before its end");
+        }
+        if (!itemRepo.existsById(itemId)) {
+            throw new ItemNotFoundException("Item not found");
+        }
+        List<FreeWindowDto> freeWindows = availabilityIndex.freeWindows(itemId, from, to);
+        boolean available = freeWindows.size() == 1
+                && freeWindows.get(0).getStart().equals(from) && freeWindows.get(0).getEnd().equals(to);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(available)
+                .freeWindows(freeWindows)
+                .build();
+    }
+
+    @Override
+    @Transactional
     public ItemDto updateItem(Long ownerId, Long itemId, ItemDto itemDtoWithUpdate) {
         Item itemForUpdate = itemMapperService.prepareItemToUpdate(ownerId, itemId, itemDtoWithUpdate);
         Item itemUpdated = itemRepo.save(itemForUpdate);
+        itemSearchIndex.put(itemUpdated);
         return ItemMapper.makeDtoFromItem(itemUpdated).get();
     }
 
     @Override
-    public List<ItemDto> searchForItems(String text) {
+    public List<ItemDto> searchForItems(String text, Integer from, Integer size) {
         List<ItemDto> searchResult = new ArrayList<>();
-        if (!text.isBlank()) {
-            searchResult = itemRepo.findByText(text).stream()
-                    .map(item -> ItemMapper.makeDtoFromItem(item).get())
+        if (!text.isBlank() && itemSearchIndex.isReady()) {
+            searchResult = itemSearchIndex.search(text, from, size);
+        } else if (!text.isBlank()) {
+            PageRequest pageRequest = PageRequest.of(from > 0 ? from / size : 0, size);
+            searchResult = itemRepo.findByText(text, pageRequest).stream()
+                    .map(view -> ItemMapper.makeDtoFromSearchView(view).get())
                     .collect(Collectors.toList());
         }
         return searchResult;
     }
 
     @Override
+    @Transactional
     public CommentDto addNewCommentToItem(CommentRequestDto requestDto) {
-        return CommentMapper
-                .entityToDto(commentRepo.save(itemMapperService.prepareCommentToSave(requestDto)));
+        Comment comment = commentRepo.save(itemMapperService.prepareCommentToSave(requestDto));
+        itemRepo.incrementCommentCount(comment.getItem().getId());
+        return CommentMapper.entityToDto(comment);
     }
 
     @Override
+    public List<CommentDto> getComments(Long itemId, String cursor, Integer size) {
+        validateId(itemId);
+        if (!itemRepo.existsById(itemId)) {
+            throw new ItemNotFoundException("Item not found");
+        }
+        PageRequest pageRequest = PageRequest.of(0, size);
+        List<CommentView> comments;
+        if (cursor == null) {
+            comments = commentRepo.findPageByItemId(itemId, pageRequest);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            comments = commentRepo.findPageByItemIdAfter(itemId, after.getTimestamp(), after.getId(), pageRequest);
+        }
+        return comments.stream()
+                .map(CommentMapper::viewToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public void deleteItem(Long ownerId, Long itemId) {
         User owner = UserMapper.makeUserWithId(userService.getUser(ownerId)).get();
         Item item = ItemMapper.makeItem(getItem(itemId, ownerId), owner).get();
         itemRepo.delete(item);
+        itemSearchIndex.delete(itemId);
+        availabilityIndex.deleteItem(itemId);
     }
 
     @Override
+    @Transactional
     public void clearAll() {
         itemRepo.deleteAll();
+        itemSearchIndex.clear();
+        availabilityIndex.clear();
+    }
+
+    /**
+     * Skips rows that would break the unique (name, description) index, both against stored items
+     * and within the import itself, then saves the batch in a transaction of its own.
+     */
+    private void saveImportBatch(Map<Long, Item> batch, ItemImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int saved = transactionTemplate.execute(status -> {
+            Set<String> names = batch.values().stream().map(Item::getName).collect(Collectors.toSet());
+            Set<List<String>> taken = itemRepo.findAllByNameIn(names).stream()
+                    .map(view -> List.of(view.getName(), view.getDescription()))
+                    .collect(Collectors.toCollection(HashSet::new));
+            List<Item> toSave = new ArrayList<>(batch.size());
+            batch.forEach((row, item) -> {
+                if (taken.add(List.of(item.getName(), item.getDescription()))) {
+                    toSave.add(item);
+                } else {
+                    rejectImportRow(result, row, "Item with the same name and description already exists");
+                }
+            });
+            itemRepo.saveAll(toSave);
+            itemSearchIndex.putAll(toSave);
+            return toSave.size();
+        });
+        result.setAccepted(result.getAccepted() + saved);
+        batch.clear();
+    }
+
+    private void rejectImportRow(ItemImportResultDto result, long row, String error) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_IMPORT_ERRORS) {
+            result.getErrors().add(new ItemImportErrorDto(row, error));
+        }
     }
 
     private void validateId(Long id) {
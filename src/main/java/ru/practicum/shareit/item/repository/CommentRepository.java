@@ -1,11 +1,35 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemIdOrderById(Long id);
-}
+    /**
+     * Up to {@code limit} newest comments of each item, ordered by item and then newest first.
+     */
+    @Query(value = "select c.id as id, c.text as text, u.name as authorName, c.created as created, " +
+            "c.item_id as itemId from (select cm.*, row_number() over (partition by cm.item_id " +
+            "order by cm.created desc, cm.id desc) as position from comments cm where cm.item_id in ?1) c " +
+            "join users u on u.id = c.author_id where c.position <= ?2 " +
+            "order by c.item_id, c.created desc, c.id desc", nativeQuery = true)
+    List<CommentView> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
+
+    @Query("select c.id as id, c.text as text, c.author.name as authorName, c.created as created, " +
+            "c.item.id as itemId from Comment c where c.item.id = ?1 order by c.created desc, c.id desc")
+    List<CommentView> findPageByItemId(Long itemId, Pageable pageable);
 
+    /**
+     * Keyset continuation of {@link #findPageByItemId}: comments older than ({@code created}, {@code id}).
+     */
+    @Query("select c.id as id, c.text as text, c.author.name as authorName, c.created as created, " +
+            "c.item.id as itemId from Comment c where c.item.id = ?1 " +
+            "and (c.created < ?2 or (c.created = ?2 and c.id < ?3)) order by c.created desc, c.id desc")
+    List<CommentView> findPageByItemIdAfter(Long itemId, LocalDateTime created, Long id, Pageable pageable);
+}
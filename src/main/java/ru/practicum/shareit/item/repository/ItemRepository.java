@@ -1,19 +1,85 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query("select i from Item i where i.isAvailable = True AND " +
+    @Query("select i.id as id, i.name as name, i.description as description, i.isAvailable as available, " +
+            "i.owner.id as ownerId, i.request.id as requestId from Item i where i.isAvailable = True AND " +
             "( upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> findByText(String text);
+            " or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case when upper(i.name) = upper(?1) then 0 " +
+            "when upper(i.name) like upper(concat(?1, '%')) then 1 " +
+            "when upper(i.name) like upper(concat('%', ?1, '%')) then 2 " +
+            "else 3 end, i.id")
+    List<ItemSearchView> findByText(String text, PageRequest pageRequest);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.isAvailable as available, " +
+            "i.owner.id as ownerId, i.request.id as requestId from Item i where i.name in ?1")
+    List<ItemSearchView> findAllByNameIn(Collection<String> names);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select i.id as id, i.name as name, i.description as description, i.isAvailable as available, " +
+            "i.owner.id as ownerId, i.request.id as requestId from Item i")
+    Stream<ItemSearchView> streamAllForSearchIndex();
+
+    /**
+     * Loads the item with a row lock held until the end of the current transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    /**
+     * Locks several items at once, always in id order so that overlapping batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in ?1 order by i.id")
+    List<Item> findAllByIdInForUpdate(Collection<Long> ids);
 
     List<Item> findAllByOwnerIdOrderById(Long userId);
 
+    boolean existsByOwnerId(Long ownerId);
+
     List<Item> findAllByRequestId(Long id);
+
+    @Modifying
+    @Query("update Item i set i.commentCount = i.commentCount + 1 where i.id = ?1")
+    void incrementCommentCount(Long itemId);
+
+    /**
+     * Ids of the items the database removes together with the user: the user's own items and, through the
+     * requests cascade, the items other owners posted in answer to the user's requests.
+     */
+    @Query("select i.id from Item i left join i.request r where i.owner.id = ?1 or r.requester.id = ?1")
+    List<Long> findIdsDeletedWithUser(Long userId);
+
+    /**
+     * Takes the author's comments out of the counters before they are cascaded away with the author.
+     */
+    @Modifying
+    @Query("update Item i set i.commentCount = i.commentCount - " +
+            "(select count(c) from Comment c where c.item.id = i.id and c.author.id = ?1) " +
+            "where i.id in (select c.item.id from Comment c where c.author.id = ?1)")
+    void subtractCommentsOfAuthor(Long authorId);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.isAvailable as available, " +
+            "i.owner.id as ownerId, i.request.id as requestId from Item i where i.request.id in ?1 order by i.id")
+    List<ItemSearchView> findAllByRequestIdIn(Collection<Long> requestIds);
 }
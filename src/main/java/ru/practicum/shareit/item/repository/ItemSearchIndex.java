@@ -0,0 +1,355 @@
+package ru.practicum.shareit.item.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.InMemoryIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over item names and descriptions, answering /items/search without the database.
+ * <p>
+ * Every n-gram of one to {@value #GRAM_LENGTH} characters of every word maps to a sorted {@code long[]} posting
+ * list of item ids, in the spirit of pg_trgm. A query word up to {@value #GRAM_LENGTH} characters long is looked
+ * up directly; a longer one intersects the posting lists of its trigrams, so prefix and infix fragments both
+ * match without scanning the dictionary. The candidates are then checked against the whole query string with
+ * the same semantics as {@link ItemRepository#findByText}.
+ * <p>
+ * Writes are applied after the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex extends InMemoryIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepo;
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, Postings> grams = new HashMap<>();
+
+    public ItemSearchIndex(ItemRepository itemRepo, MeterRegistry meterRegistry,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        super(meterRegistry, "shareit.search.index", "item search index", enabled);
+        this.itemRepo = itemRepo;
+        gauge("shareit.search.index.items", "Items held by the search index", items::size);
+        gauge("shareit.search.index.terms", "Distinct n-grams held by the search index", grams::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuild(() -> {
+            items.clear();
+            grams.clear();
+            try (Stream<ItemSearchView> rows = itemRepo.streamAllForSearchIndex()) {
+                rows.forEach(row -> add(IndexedItem.of(row)));
+            }
+            log.info("Search index rebuilt: {} items, {} n-grams", items.size(), grams.size());
+        });
+    }
+
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    /**
+     * Indexes the items with a single after-commit update, so a long transaction such as an import registers one
+     * synchronization per batch instead of one per item. Only the indexed fields are kept until then.
+     */
+    public void putAll(Collection<Item> batch) {
+        if (!enabled || batch.isEmpty()) {
+            return;
+        }
+        List<IndexedItem> indexed = batch.stream().map(IndexedItem::of).collect(Collectors.toList());
+        afterCommit(() -> indexed.forEach(item -> {
+            remove(item.getId());
+            add(item);
+        }));
+    }
+
+    public void delete(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> remove(itemId));
+    }
+
+    public void deleteAll(Collection<Long> itemIds) {
+        if (!enabled || itemIds.isEmpty()) {
+            return;
+        }
+        List<Long> removed = List.copyOf(itemIds);
+        afterCommit(() -> removed.forEach(this::remove));
+    }
+
+    public void clear() {
+        afterCommit(() -> {
+            items.clear();
+            grams.clear();
+        });
+    }
+
+    /**
+     * Available items whose name or description contains {@code text}, most relevant first,
+     * paged the same way as {@link ItemRepository#findByText}.
+     */
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = text.toUpperCase(Locale.ROOT);
+        long offset = (long) (from > 0 ? from / size : 0) * size;
+        return read(() -> candidates(query).stream()
+                .map(items::get)
+                .filter(item -> item.isAvailable() && item.matches(query))
+                .sorted(Comparator.comparingInt((IndexedItem item) -> item.rank(query))
+                        .thenComparing(IndexedItem::getId))
+                .skip(offset)
+                .limit(size)
+                .map(item -> ItemMapper.makeDtoFromSearchView(item).get())
+                .collect(Collectors.toList()));
+    }
+
+    private List<Long> candidates(String query) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<>(items.keySet());
+        }
+        long[] result = null;
+        for (String queryToken : queryTokens) {
+            long[] matching = containing(queryToken);
+            result = result == null ? matching : intersect(result, matching);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return Arrays.stream(result).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Items with a word containing {@code queryToken}, possibly with false positives whose trigrams are spread over
+     * several words; {@link IndexedItem#matches} removes those. Starts from the shortest posting list.
+     */
+    private long[] containing(String queryToken) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : queryGrams(queryToken)) {
+            Postings postings = grams.get(gram);
+            if (postings == null) {
+                return new long[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(Postings::count));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retain(result);
+        }
+        return result;
+    }
+
+    private void add(IndexedItem item) {
+        items.put(item.getId(), item);
+        for (String gram : item.grams()) {
+            grams.computeIfAbsent(gram, key -> new Postings()).add(item.getId());
+        }
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem old = items.remove(itemId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old.grams()) {
+            Postings postings = grams.get(gram);
+            if (postings != null && postings.remove(itemId) && postings.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> tokenize(String upperText) {
+        return TOKEN_SEPARATOR.splitAsStream(upperText)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Set<String> queryGrams(String queryToken) {
+        if (queryToken.length() <= GRAM_LENGTH) {
+            return Set.of(queryToken);
+        }
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= queryToken.length(); i++) {
+            trigrams.add(queryToken.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Every substring of {@code token} from one to {@value #GRAM_LENGTH} characters long, so that any query word
+     * contained in the token is answered either by one of them or by its trigrams.
+     */
+    private static void addGrams(String token, Set<String> target) {
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= token.length(); i++) {
+                target.add(token.substring(i, i + length));
+            }
+        }
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Sorted, growable list of item ids without boxing.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int count() {
+            return size;
+        }
+
+        /**
+         * The ids of the sorted {@code candidates} that are also in this list.
+         */
+        long[] retain(long[] candidates) {
+            long[] result = new long[candidates.length];
+            int retained = 0;
+            for (long candidate : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, candidate) >= 0) {
+                    result[retained++] = candidate;
+                }
+            }
+            return Arrays.copyOf(result, retained);
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    @Getter
+    private static final class IndexedItem implements ItemSearchView {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Boolean available;
+        private final Long ownerId;
+        private final Long requestId;
+        private final String upperName;
+        private final String upperDescription;
+
+        private IndexedItem(Long id, String name, String description, Boolean available, Long ownerId,
+                            Long requestId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.available = available;
+            this.ownerId = ownerId;
+            this.requestId = requestId;
+            this.upperName = name.toUpperCase(Locale.ROOT);
+            this.upperDescription = description.toUpperCase(Locale.ROOT);
+        }
+
+        static IndexedItem of(ItemSearchView view) {
+            return new IndexedItem(view.getId(), view.getName(), view.getDescription(), view.getAvailable(),
+                    view.getOwnerId(), view.getRequestId());
+        }
+
+        static IndexedItem of(Item item) {
+            return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.getIsAvailable(),
+                    item.getOwner().getId(), item.getRequest() == null ? null : item.getRequest().getId());
+        }
+
+        boolean isAvailable() {
+            return Boolean.TRUE.equals(available);
+        }
+
+        boolean matches(String query) {
+            return upperName.contains(query) || upperDescription.contains(query);
+        }
+
+        int rank(String query) {
+            if (upperName.equals(query)) {
+                return 0;
+            }
+            if (upperName.startsWith(query)) {
+                return 1;
+            }
+            return upperName.contains(query) ? 2 : 3;
+        }
+
+        Set<String> grams() {
+            Set<String> tokens = tokenize(upperName);
+            tokens.addAll(tokenize(upperDescription));
+            Set<String> grams = new HashSet<>();
+            tokens.forEach(token -> addGrams(token, grams));
+            return grams;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.PageCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -40,14 +42,17 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    List<ItemRequestDto> getAllItemRequests(@RequestHeader(SHARER_USER_ID) Long userId,
-                                            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                            @RequestParam(defaultValue = "20") @Positive Integer size) {
+    ResponseEntity<List<ItemRequestDto>> getAllItemRequests(@RequestHeader(SHARER_USER_ID) Long userId,
+                                                            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                            @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                            @RequestParam(required = false) String cursor) {
 
         log.info("Get All requests - Started");
-        List<ItemRequestDto> listOfRequestsDto = itemRequestService.getAllItemRequests(userId, from, size);
+        List<ItemRequestDto> listOfRequestsDto = cursor == null
+                ? itemRequestService.getAllItemRequests(userId, from, size)
+                : itemRequestService.getAllItemRequestsAfterCursor(userId, cursor, size);
         log.info("Size of founded List of requests is {} - Finished", listOfRequestsDto.size());
-        return listOfRequestsDto;
+        return PageCursor.response(listOfRequestsDto, size, ItemRequestDto::getCreated, ItemRequestDto::getId);
     }
 
     @GetMapping("/{requestId}")
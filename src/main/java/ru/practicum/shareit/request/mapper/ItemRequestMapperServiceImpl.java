@@ -14,7 +14,10 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,7 +36,7 @@ public class ItemRequestMapperServiceImpl implements ItemRequestMapperService {
     @Override
     public boolean requesterValidate(Long requesterId) {
         validateId(requesterId);
-        userService.getUser(requesterId);
+        userService.validateUserExists(requesterId);
         return true;
     }
 
@@ -58,8 +61,26 @@ public class ItemRequestMapperServiceImpl implements ItemRequestMapperService {
 
     @Override
     public List<ItemRequestDto> prepareForReturnListDto(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepo.findAllByRequestIdIn(requestIds).stream()
+                .map(view -> ItemMapper.makeDtoFromSearchView(view).get())
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        log.info("Для {} запросов найдено {} предложенных вещей", itemRequests.size(),
+                itemsByRequestId.values().stream().mapToInt(List::size).sum());
+
         return itemRequests.stream()
-                .map(itemRequest -> prepareForReturnDto(itemRequest))
+                .map(itemRequest -> {
+                    List<ItemDto> itemsDtoForRequest = itemsByRequestId.get(itemRequest.getId());
+                    return itemsDtoForRequest == null
+                            ? ItemRequestMapper.makeItemRequestDto(itemRequest).get()
+                            : ItemRequestMapper.makeItemRequestDtoWithItemsList(itemRequest, itemsDtoForRequest).get();
+                })
                 .collect(Collectors.toList());
     }
 
@@ -18,14 +18,15 @@ import java.time.LocalDateTime;
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_id_seq")
+    @SequenceGenerator(name = "requests_id_seq", sequenceName = "requests_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Exclude
     private Long id;
 
     @Column(name = "description")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     @ToString.Exclude
     private User requester;
@@ -1,11 +1,30 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequesterId(Long requesterId);
+    /**
+     * Requests of the user, newest first, read backwards from the (requester_id, created, id) index.
+     */
+    List<ItemRequest> findAllByRequesterIdOrderByCreatedDescIdDesc(Long requesterId);
 
+    /**
+     * Requests of other users in (created, id) order, so every page is full however many requests
+     * the caller has made. Pageable must be unsorted.
+     */
+    @Query("select r from ItemRequest r where r.requester.id <> ?1 order by r.created, r.id")
+    List<ItemRequest> findAllOfOtherUsers(Long userId, Pageable pageable);
+
+    /**
+     * Keyset continuation of {@link #findAllOfOtherUsers}: requests following ({@code created}, {@code id}).
+     */
+    @Query("select r from ItemRequest r where r.requester.id <> ?1 " +
+            "and (r.created > ?2 or (r.created = ?2 and r.id > ?3)) order by r.created, r.id")
+    List<ItemRequest> findAllOfOtherUsersAfter(Long userId, LocalDateTime created, Long id, Pageable pageable);
 }
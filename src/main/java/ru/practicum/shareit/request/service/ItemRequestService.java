@@ -11,5 +11,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllItemRequests(Long userId, Integer from, Integer size);
 
+    List<ItemRequestDto> getAllItemRequestsAfterCursor(Long userId, String cursor, Integer size);
+
     ItemRequestDto getItemRequest(Long userId, Long requestId);
 }
@@ -2,24 +2,26 @@ package ru.practicum.shareit.request.service;
 
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapperService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestMapperService itemRequestMapperService;
     private final ItemRequestRepository itemRequestRepo;
 
     @Override
+    @Transactional
     public ItemRequestDto addNewItemRequest(Long requesterId, ItemRequestDto dto) {
         ItemRequest itemRequestForSave = itemRequestMapperService.prepareForSaveItemRequest(requesterId, dto);
         ItemRequest itemRequest = itemRequestRepo.save(itemRequestForSave);
@@ -30,23 +32,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getItemRequests(Long requesterId) {
         itemRequestMapperService.requesterValidate(requesterId);
-        List<ItemRequest> itemRequests = itemRequestRepo.findAllByRequesterId(requesterId);
+        List<ItemRequest> itemRequests = itemRequestRepo.findAllByRequesterIdOrderByCreatedDescIdDesc(requesterId);
         List<ItemRequestDto> itemRequestsDto = itemRequestMapperService.prepareForReturnListDto(itemRequests);
         return itemRequestsDto;
     }
 
     @Override
     public List<ItemRequestDto> getAllItemRequests(Long userId, Integer from, Integer size) {
-        PageRequest pageRequest = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by("created"));
-        List<ItemRequest> answerList = itemRequestRepo.findAll(pageRequest)
-                .stream()
-                .collect(Collectors.toList());
-        List<ItemRequestDto> answerDtoList = answerList.stream()
-                .filter(itemRequest -> !itemRequest.getRequester().getId().equals(userId))
-                .map(itemRequest -> itemRequestMapperService.prepareForReturnDto(itemRequest))
-                .collect(Collectors.toList());
-
-        return answerDtoList;
+        PageRequest pageRequest = PageRequest.of(from > 0 ? from / size : 0, size);
+        List<ItemRequest> answerList = itemRequestRepo.findAllOfOtherUsers(userId, pageRequest);
+        return itemRequestMapperService.prepareForReturnListDto(answerList);
+    }
+
+    @Override
+    public List<ItemRequestDto> getAllItemRequestsAfterCursor(Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<ItemRequest> answerList = itemRequestRepo.findAllOfOtherUsersAfter(userId, after.getTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+        return itemRequestMapperService.prepareForReturnListDto(answerList);
     }
 
     @Override
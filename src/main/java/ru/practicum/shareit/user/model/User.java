@@ -16,7 +16,8 @@ import javax.validation.constraints.Email;
 @EqualsAndHashCode
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Exclude
     private Long id;
     @Column(name = "name")
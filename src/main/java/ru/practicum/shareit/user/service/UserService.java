@@ -9,6 +9,11 @@ public interface UserService {
 
     UserDto getUser(long id);
 
+    /**
+     * Throws {@link ru.practicum.shareit.exception.UserNotFoundException} if there is no user with this id.
+     */
+    void validateUserExists(long id);
+
     Collection<UserDto> getUsers();
 
     UserDto updateUser(UserDto userDto, long id);
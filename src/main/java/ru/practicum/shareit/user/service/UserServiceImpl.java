@@ -2,8 +2,14 @@ package ru.practicum.shareit.user.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -15,10 +21,17 @@ import java.util.stream.Collectors;
 @Service()
 @Slf4j
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    public static final String USERS_CACHE = "users";
+
     private final UserRepository userRepo;
+    private final ItemRepository itemRepo;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
 
     @Override
+    @Transactional
     public UserDto addUser(UserDto userDto) {
         User user = userRepo.save(UserMapper.makeUser(userDto)
                 .orElseThrow(() -> new NullPointerException("User объект не создан")));
@@ -27,6 +40,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id")
     public UserDto getUser(long id) {
         User user = userRepo.findById(id).orElseThrow(() -> new UserNotFoundException("Пользователь id "
                 + id + " не найден"));
@@ -34,6 +48,13 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NullPointerException("dto объект не найден"));
     }
 
+    @Override
+    public void validateUserExists(long id) {
+        if (!userRepo.existsById(id)) {
+            throw new UserNotFoundException("Пользователь id " + id + " не найден");
+        }
+    }
+
     @Override
     public List<UserDto> getUsers() {
         return userRepo.findAll().stream()
@@ -42,21 +63,33 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional
     public UserDto updateUser(UserDto userDto, long id) {
         User user = prepareForUpdate(userDto, id);
         return UserMapper.makeDto(userRepo.save(user)).get();
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional
     public boolean deleteUser(long id) {
-        getUser(id);
+        validateUserExists(id);
+        List<Long> cascadedItemIds = itemRepo.findIdsDeletedWithUser(id);
+        itemRepo.subtractCommentsOfAuthor(id);
         userRepo.deleteById(id);
+        itemSearchIndex.deleteAll(cascadedItemIds);
+        availabilityIndex.deleteByUserId(id, cascadedItemIds);
         return true;
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, allEntries = true)
+    @Transactional
     public void clearAll() {
         userRepo.deleteAll();
+        itemSearchIndex.clear();
+        availabilityIndex.clear();
     }
 
     private User prepareForUpdate(UserDto userDto, long id) {
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Common plumbing of the in-memory read models: a read/write lock around the data, writes applied after the
+ * surrounding transaction commits, a timed full rebuild and gauges read under the lock.
+ * <p>
+ * Until the first rebuild has finished {@link #isReady()} is false and callers read the database instead.
+ */
+public abstract class InMemoryIndex {
+    protected final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final MeterRegistry meterRegistry;
+    private final Timer rebuildTimer;
+    private volatile boolean ready;
+
+    protected InMemoryIndex(MeterRegistry meterRegistry, String name, String description, boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rebuildTimer = Timer.builder(name + ".rebuild")
+                .description("Time spent rebuilding the " + description)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the contents with what {@code load} reads, holding the write lock throughout.
+     * Does nothing when the index is disabled.
+     */
+    protected void rebuild(Runnable load) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            long started = System.nanoTime();
+            load.run();
+            rebuildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code update} under the write lock once the current transaction has committed, so rolled back writes
+     * never reach the index, or right away outside of a transaction.
+     */
+    protected void afterCommit(Runnable update) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                update.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    /**
+     * Registers a gauge whose value is read under the read lock, so a scrape never races a write.
+     */
+    protected void gauge(String name, String description, IntSupplier value) {
+        Gauge.builder(name, this, index -> read(value::getAsInt))
+                .description(description)
+                .register(meterRegistry);
+    }
+}
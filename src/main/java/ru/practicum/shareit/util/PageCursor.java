@@ -0,0 +1,76 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.util.Utils.NEXT_CURSOR;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and id of the last row of a page.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class PageCursor {
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    public PageCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Incorrect cursor: " + token);
+        }
+    }
+
+    /**
+     * Returns the token of the page following {@code page}, or null when {@code page} is the last one.
+     */
+    public static <T> String next(List<T> page, int size, Function<T, LocalDateTime> timestamp,
+                                  Function<T, Long> id) {
+        if (page.isEmpty() || page.size() < size) {
+            return null;
+        }
+        T last = page.get(page.size() - 1);
+        return new PageCursor(timestamp.apply(last), id.apply(last)).encode();
+    }
+
+    /**
+     * 200 response with {@code page} as the body and, unless it is the last page, the token of the next one in
+     * the {@value Utils#NEXT_CURSOR} header.
+     */
+    public static <T> ResponseEntity<List<T>> response(List<T> page, int size, Function<T, LocalDateTime> timestamp,
+                                                       Function<T, Long> id) {
+        String nextCursor = next(page, size, timestamp, id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR, nextCursor);
+        }
+        return response.body(page);
+    }
+}
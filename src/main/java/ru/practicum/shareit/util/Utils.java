@@ -5,5 +5,6 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class Utils {
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
     public static final String PATTERN_DATA = "yyyy-MM-dd'T'HH:mm:ss";
 }
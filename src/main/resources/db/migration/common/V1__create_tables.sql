@@ -0,0 +1,108 @@
+CREATE SEQUENCE IF NOT EXISTS USERS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS USERS (
+  ID BIGINT NOT NULL,
+  NAME VARCHAR(255) NOT NULL,
+  EMAIL VARCHAR(512) NOT NULL,
+  REQUEST_ID BIGINT,
+  CONSTRAINT PK_USERS PRIMARY KEY (ID),
+  CONSTRAINT UQ_USERS_EMAIL UNIQUE (EMAIL)
+);
+
+CREATE SEQUENCE IF NOT EXISTS REQUESTS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS REQUESTS (
+  ID BIGINT NOT NULL,
+  DESCRIPTION VARCHAR(5512) NOT NULL,
+  REQUESTER_ID BIGINT NOT NULL,
+  CREATED TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT PK_REQUESTS PRIMARY KEY (ID),
+  CONSTRAINT FK_REQUESTS_USERS FOREIGN KEY (REQUESTER_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+);
+
+ALTER TABLE USERS
+  ADD CONSTRAINT FK_USERS_REQUESTS FOREIGN KEY (REQUEST_ID) REFERENCES REQUESTS(ID) ON DELETE CASCADE;
+
+CREATE SEQUENCE IF NOT EXISTS ITEMS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ITEMS (
+  ID BIGINT NOT NULL,
+  OWNER_ID BIGINT NOT NULL,
+  NAME VARCHAR(255) NOT NULL,
+  DESCRIPTION VARCHAR(5512) NOT NULL,
+  IS_AVAILABLE BOOLEAN,
+  REQUEST_ID BIGINT,
+  CONSTRAINT PK_ITEMS PRIMARY KEY (ID),
+  CONSTRAINT FK_ITEMS_OWNER FOREIGN KEY (OWNER_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+  ,
+  CONSTRAINT FK_ITEMS_REQUEST FOREIGN KEY (REQUEST_ID) REFERENCES REQUESTS(ID) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS OWNER_ID_ITEM_NAME_DESCRIPTION_INDEX
+    ON ITEMS (NAME, DESCRIPTION
+);
+
+CREATE INDEX IF NOT EXISTS ITEMS_OWNER_ID_ID_INDEX
+    ON ITEMS (OWNER_ID, ID
+);
+
+CREATE SEQUENCE IF NOT EXISTS BOOKINGS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS BOOKINGS (
+  ID BIGINT NOT NULL,
+  START_DATE TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  END_DATE TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  ITEM_ID BIGINT NOT NULL,
+  BOOKER_ID BIGINT NOT NULL,
+  STATUS VARCHAR(52) NOT NULL,
+  OWNER_ID BIGINT NOT NULL,
+  CONSTRAINT PK_BOOKINGS PRIMARY KEY (ID),
+  CONSTRAINT FK_BOOKINGS_ITEM FOREIGN KEY (ITEM_ID) REFERENCES ITEMS(ID) ON DELETE CASCADE,
+  CONSTRAINT FK_BOOKINGS_USER FOREIGN KEY (BOOKER_ID) REFERENCES USERS(ID) ON DELETE CASCADE,
+  CONSTRAINT FK_BOOKINGS_OWNER FOREIGN KEY (OWNER_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, STATUS, START_DATE
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_ID_START_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, START_DATE
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_ID_END_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, END_DATE
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_ID_START_DATE_INDEX
+    ON BOOKINGS (OWNER_ID, START_DATE DESC
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (OWNER_ID, STATUS, START_DATE DESC
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_ID_START_DATE_INDEX
+    ON BOOKINGS (BOOKER_ID, START_DATE
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (BOOKER_ID, STATUS, START_DATE
+);
+
+CREATE SEQUENCE IF NOT EXISTS COMMENTS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS COMMENTS (
+  ID BIGINT NOT NULL,
+  TEXT VARCHAR(252) NOT NULL,
+  ITEM_ID BIGINT NOT NULL,
+  AUTHOR_ID BIGINT NOT NULL,
+  CREATED TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT PK_COMMENTS PRIMARY KEY (ID),
+  CONSTRAINT FK_COMMENTS_ITEM FOREIGN KEY (ITEM_ID) REFERENCES ITEMS(ID) ON DELETE CASCADE,
+  CONSTRAINT FK_COMMENTS_USER FOREIGN KEY (AUTHOR_ID) REFERENCES USERS(ID) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS TEXT_ITEM_ID_AUTHOR_ID_INDEX
+    ON COMMENTS (TEXT, ITEM_ID, AUTHOR_ID
+);
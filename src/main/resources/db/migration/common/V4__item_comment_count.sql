@@ -0,0 +1,3 @@
+ALTER TABLE ITEMS ADD COLUMN IF NOT EXISTS COMMENT_COUNT BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE ITEMS SET COMMENT_COUNT = (SELECT COUNT(*) FROM COMMENTS WHERE COMMENTS.ITEM_ID = ITEMS.ID);
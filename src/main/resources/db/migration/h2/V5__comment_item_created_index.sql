@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS COMMENTS_ITEM_ID_CREATED_ID_INDEX
+    ON COMMENTS (ITEM_ID, CREATED, ID);
@@ -0,0 +1,47 @@
+-- Databases built by the old schema.sql were baselined at version 2 and still have identity ids, no id sequences and
+-- no BOOKINGS.OWNER_ID. This brings them up to V1 and does nothing where V1 did run. Sequences restart above the ids
+-- already taken, never below the value they had reached.
+ALTER TABLE USERS ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS USERS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE USERS_ID_SEQ RESTART WITH (SELECT GREATEST(COALESCE(MAX(ID), 0) + 1,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'USERS_ID_SEQ')) FROM USERS);
+
+ALTER TABLE REQUESTS ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS REQUESTS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE REQUESTS_ID_SEQ RESTART WITH (SELECT GREATEST(COALESCE(MAX(ID), 0) + 1,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'REQUESTS_ID_SEQ')) FROM REQUESTS);
+
+ALTER TABLE ITEMS ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS ITEMS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE ITEMS_ID_SEQ RESTART WITH (SELECT GREATEST(COALESCE(MAX(ID), 0) + 1,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ITEMS_ID_SEQ')) FROM ITEMS);
+
+ALTER TABLE BOOKINGS ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS BOOKINGS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE BOOKINGS_ID_SEQ RESTART WITH (SELECT GREATEST(COALESCE(MAX(ID), 0) + 1,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKINGS_ID_SEQ')) FROM BOOKINGS);
+
+ALTER TABLE COMMENTS ALTER COLUMN ID DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS COMMENTS_ID_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE COMMENTS_ID_SEQ RESTART WITH (SELECT GREATEST(COALESCE(MAX(ID), 0) + 1,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'COMMENTS_ID_SEQ')) FROM COMMENTS);
+
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS OWNER_ID BIGINT;
+
+UPDATE BOOKINGS SET OWNER_ID = (SELECT ITEMS.OWNER_ID FROM ITEMS WHERE ITEMS.ID = BOOKINGS.ITEM_ID)
+WHERE OWNER_ID IS NULL;
+
+ALTER TABLE BOOKINGS ALTER COLUMN OWNER_ID SET NOT NULL;
+
+ALTER TABLE BOOKINGS ADD CONSTRAINT IF NOT EXISTS FK_BOOKINGS_OWNER
+    FOREIGN KEY (OWNER_ID) REFERENCES USERS (ID) ON DELETE CASCADE;
@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS ITEMS_UPPER_NAME_TRGM_INDEX
+    ON ITEMS USING GIN (UPPER(NAME) gin_trgm_ops)
+    WHERE IS_AVAILABLE;
+
+CREATE INDEX IF NOT EXISTS ITEMS_UPPER_DESCRIPTION_TRGM_INDEX
+    ON ITEMS USING GIN (UPPER(DESCRIPTION) gin_trgm_ops)
+    WHERE IS_AVAILABLE;
+
+ALTER TABLE BOOKINGS
+  ADD CONSTRAINT EX_BOOKINGS_ITEM_PERIOD
+    EXCLUDE USING GIST (ITEM_ID WITH =, TSRANGE(START_DATE, END_DATE) WITH &&)
+    WHERE (STATUS IN ('WAITING', 'APPROVED'));
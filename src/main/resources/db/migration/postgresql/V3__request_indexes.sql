@@ -0,0 +1,9 @@
+-- Built without locking out writes. Flyway runs CONCURRENTLY statements outside of a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS REQUESTS_CREATED_ID_INDEX
+    ON REQUESTS (CREATED, ID);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS REQUESTS_REQUESTER_ID_CREATED_INDEX
+    ON REQUESTS (REQUESTER_ID, CREATED, ID);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ITEMS_REQUEST_ID_INDEX
+    ON ITEMS (REQUEST_ID);
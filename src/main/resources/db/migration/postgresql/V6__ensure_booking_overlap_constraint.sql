@@ -0,0 +1,15 @@
+-- Databases built by the old schema.sql were baselined at version 2, so V2 never ran on them. This repeats its
+-- extensions and exclusion constraint without failing where V2 did run. Overlapping WAITING/APPROVED bookings
+-- left over from before the constraint must be resolved first, otherwise the ALTER TABLE fails.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_item_period') THEN
+    ALTER TABLE BOOKINGS
+      ADD CONSTRAINT EX_BOOKINGS_ITEM_PERIOD
+        EXCLUDE USING GIST (ITEM_ID WITH =, TSRANGE(START_DATE, END_DATE) WITH &&)
+        WHERE (STATUS IN ('WAITING', 'APPROVED'));
+  END IF;
+END $$;
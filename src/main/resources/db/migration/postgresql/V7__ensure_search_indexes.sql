@@ -0,0 +1,8 @@
+-- The trigram indexes of V2 for databases baselined at version 2, built without locking out writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ITEMS_UPPER_NAME_TRGM_INDEX
+    ON ITEMS USING GIN (UPPER(NAME) gin_trgm_ops)
+    WHERE IS_AVAILABLE;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ITEMS_UPPER_DESCRIPTION_TRGM_INDEX
+    ON ITEMS USING GIN (UPPER(DESCRIPTION) gin_trgm_ops)
+    WHERE IS_AVAILABLE;
@@ -0,0 +1,31 @@
+-- Databases built by the old schema.sql were baselined at version 2 and still have identity ids, no id sequences and
+-- no BOOKINGS.OWNER_ID; the CREATE TABLE IF NOT EXISTS of V1 never reached them. This brings them up to V1 and does
+-- nothing where V1 did run. Sequences start above the ids already taken.
+DO $$
+DECLARE
+  t TEXT;
+  next_id BIGINT;
+BEGIN
+  FOREACH t IN ARRAY ARRAY['users', 'requests', 'items', 'bookings', 'comments'] LOOP
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+    IF to_regclass(t || '_id_seq') IS NULL THEN
+      EXECUTE format('SELECT COALESCE(MAX(id), 0) + 1 FROM %I', t) INTO next_id;
+      EXECUTE format('CREATE SEQUENCE %I START WITH %s INCREMENT BY 50', t || '_id_seq', next_id);
+    END IF;
+  END LOOP;
+END $$;
+
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS OWNER_ID BIGINT;
+
+UPDATE BOOKINGS SET OWNER_ID = (SELECT ITEMS.OWNER_ID FROM ITEMS WHERE ITEMS.ID = BOOKINGS.ITEM_ID)
+WHERE OWNER_ID IS NULL;
+
+ALTER TABLE BOOKINGS ALTER COLUMN OWNER_ID SET NOT NULL;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_bookings_owner') THEN
+    ALTER TABLE BOOKINGS
+      ADD CONSTRAINT FK_BOOKINGS_OWNER FOREIGN KEY (OWNER_ID) REFERENCES USERS (ID) ON DELETE CASCADE;
+  END IF;
+END $$;
@@ -0,0 +1,24 @@
+-- The indexes of V1 for databases baselined at version 2, built without locking out writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ITEMS_OWNER_ID_ID_INDEX
+    ON ITEMS (OWNER_ID, ID);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_ITEM_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, STATUS, START_DATE);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_ITEM_ID_START_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, START_DATE);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_ITEM_ID_END_DATE_INDEX
+    ON BOOKINGS (ITEM_ID, END_DATE);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_OWNER_ID_START_DATE_INDEX
+    ON BOOKINGS (OWNER_ID, START_DATE DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_OWNER_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (OWNER_ID, STATUS, START_DATE DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_BOOKER_ID_START_DATE_INDEX
+    ON BOOKINGS (BOOKER_ID, START_DATE);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS BOOKINGS_BOOKER_ID_STATUS_START_DATE_INDEX
+    ON BOOKINGS (BOOKER_ID, STATUS, START_DATE);
@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk insert throughput of items and bookings. Skipped by default; run with
+ * {@code mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class BulkInsertBenchmarkTest {
+    private static final int WARM_UP_ROWS = 1_000;
+    private static final int ROWS = 10_000;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+    }
+
+    @Test
+    void insertItems() {
+        insert("items", this::item, itemRepository::saveAll);
+    }
+
+    @Test
+    void insertBookings() {
+        Item item = itemRepository.save(item(0));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        insert("bookings", i -> Booking.builder()
+                .start(start.plusHours(i))
+                .end(start.plusHours(i + 1))
+                .item(item)
+                .booker(booker)
+                .status(StatusOfBooking.WAITING)
+                .build(), bookingRepository::saveAll);
+    }
+
+    private <T> void insert(String entity, IntFunction<T> factory, Consumer<List<T>> saveAll) {
+        transactionTemplate.executeWithoutResult(status -> saveAll.accept(rows(WARM_UP_ROWS, factory)));
+        List<T> rows = rows(ROWS, factory);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> saveAll.accept(rows));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        log.info("Inserted {} {} in {} ms ({} rows/s), {} statements prepared", ROWS, entity, millis,
+                ROWS * 1000L / Math.max(millis, 1), statistics.getPrepareStatementCount());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+    }
+
+    private <T> List<T> rows(int count, IntFunction<T> factory) {
+        return IntStream.range(0, count).mapToObj(factory).collect(Collectors.toList());
+    }
+
+    private Item item(int i) {
+        return Item.builder()
+                .name("item" + i + "-" + System.nanoTime())
+                .description("description")
+                .isAvailable(true)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "owner has items" pre-check of the owner booking list, before (building the owner's item listing) and after
+ * (one exists probe). Skipped by default; run with
+ * {@code mvn test -Dtest=OwnerItemsCheckBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class OwnerItemsCheckBenchmarkTest {
+    private static final int ITEMS = 200;
+    private static final int WARM_UP_RUNS = 20;
+    private static final int RUNS = 200;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            User requester = userRepository.save(User.builder()
+                    .name("requester" + i)
+                    .email("requester" + i + "@mail.ru")
+                    .build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .isAvailable(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(StatusOfBooking.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .item(item)
+                    .booker(booker)
+                    .status(StatusOfBooking.APPROVED)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("comment" + i)
+                    .author(booker)
+                    .item(item)
+                    .created(now)
+                    .build());
+        }
+    }
+
+    @Test
+    void ownerHasItemsCheck() {
+        Result before = measure("item listing", () -> !itemService.getItems(owner.getId()).isEmpty());
+        Result after = measure("exists probe", () -> itemService.ownerHasItems(owner.getId()));
+
+        assertThat(after.statements).isEqualTo(1);
+        assertThat(after.statements).isLessThan(before.statements);
+        assertThat(after.nanos).isLessThan(before.nanos);
+    }
+
+    private Result measure(String variant, BooleanSupplier check) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            assertThat(check.getAsBoolean()).isTrue();
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            assertThat(check.getAsBoolean()).isTrue();
+        }
+        long nanos = (System.nanoTime() - started) / RUNS;
+        long statements = statistics.getPrepareStatementCount() / RUNS;
+
+        log.info("Owner items check via {}: {} us per call, {} statements per call", variant,
+                TimeUnit.NANOSECONDS.toMicros(nanos), statements);
+        return new Result(nanos, statements);
+    }
+
+    private static final class Result {
+        private final long nanos;
+        private final long statements;
+
+        private Result(long nanos, long statements) {
+            this.nanos = nanos;
+            this.statements = statements;
+        }
+    }
+}
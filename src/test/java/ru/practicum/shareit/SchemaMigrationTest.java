@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class SchemaMigrationTest {
+    private final Flyway flyway;
+    private final FlywayProperties flywayProperties;
+
+    @Test
+    void whenApplicationStarted_thenSchemaIsCurrentAndMigrateIsNoOp() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("9");
+
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+    }
+
+    @Test
+    void whenSchemaBuiltBySchemaSql_thenBaselineAndUpgradeKeepingData() throws SQLException {
+        DataSource legacy = legacyDatabase("legacy_h2");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        jdbc.update("insert into users (name, email) values ('owner', 'owner@mail.ru')");
+        jdbc.update("insert into users (name, email) values ('booker', 'booker@mail.ru')");
+        jdbc.update("insert into items (owner_id, name, description, is_available) values (1, 'drill', 'desc', true)");
+        jdbc.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (localtimestamp, localtimestamp, 1, 2, 'APPROVED')");
+        jdbc.update("insert into comments (text, item_id, author_id, created) " +
+                "values ('nice', 1, 2, localtimestamp)");
+
+        Flyway migration = configure(legacy, "h2").load();
+
+        assertThat(migration.migrate().migrationsExecuted).isEqualTo(5);
+        assertThat(migration.info().current().getVersion().getVersion()).isEqualTo("9");
+        assertThat(jdbc.queryForObject("select comment_count from items where id = 1", Long.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select owner_id from bookings where id = 1", Long.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select is_nullable from information_schema.columns " +
+                "where table_name = 'BOOKINGS' and column_name = 'OWNER_ID'", String.class)).isEqualTo("NO");
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.columns " +
+                "where column_name = 'ID' and is_identity = 'YES'", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("select next value for users_id_seq", Long.class)).isGreaterThan(2);
+        assertThat(jdbc.queryForObject("select next value for bookings_id_seq", Long.class)).isGreaterThan(1);
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.indexes " +
+                "where index_name in ('REQUESTS_REQUESTER_ID_CREATED_INDEX', 'ITEMS_OWNER_ID_ID_INDEX', " +
+                "'BOOKINGS_OWNER_ID_STATUS_START_DATE_INDEX', 'BOOKINGS_BOOKER_ID_START_DATE_INDEX')",
+                Long.class)).isEqualTo(4);
+        assertThatThrownBy(() -> jdbc.update("insert into bookings (start_date, end_date, item_id, booker_id, " +
+                "status, owner_id) values (localtimestamp, localtimestamp, 1, 2, 'WAITING', 99)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void whenPostgresSchemaBaselined_thenLegacyUpgradeStillApplied() throws SQLException {
+        Flyway migration = configure(legacyDatabase("legacy_postgresql"), "postgresql").load();
+
+        migration.baseline();
+
+        String pending = Arrays.stream(migration.info().pending())
+                .map(this::script)
+                .collect(Collectors.joining("\n"));
+        assertThat(pending)
+                .contains("CREATE EXTENSION IF NOT EXISTS pg_trgm")
+                .contains("CREATE EXTENSION IF NOT EXISTS btree_gist")
+                .contains("ADD CONSTRAINT EX_BOOKINGS_ITEM_PERIOD")
+                .contains("ITEMS_UPPER_NAME_TRGM_INDEX")
+                .contains("ITEMS_UPPER_DESCRIPTION_TRGM_INDEX")
+                .contains("DROP IDENTITY IF EXISTS")
+                .contains("ADD COLUMN IF NOT EXISTS OWNER_ID")
+                .contains("ADD CONSTRAINT FK_BOOKINGS_OWNER")
+                .contains("BOOKINGS_OWNER_ID_STATUS_START_DATE_INDEX");
+    }
+
+    /**
+     * An H2 database built by the old schema.sql, kept as a test resource: identity ids, no id sequences, no
+     * BOOKINGS.OWNER_ID and no Flyway history.
+     */
+    private DataSource legacyDatabase(String name) throws SQLException {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "test", "test");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("legacy/schema.sql"));
+        }
+        return dataSource;
+    }
+
+    private FluentConfiguration configure(DataSource dataSource, String vendor) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/" + vendor)
+                .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                .baselineVersion(flywayProperties.getBaselineVersion());
+    }
+
+    private String script(MigrationInfo migration) {
+        try {
+            return Files.readString(Path.of(migration.getPhysicalLocation()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
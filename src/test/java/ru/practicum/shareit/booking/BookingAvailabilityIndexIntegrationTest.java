@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.availability.index.enabled=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class BookingAvailabilityIndexIntegrationTest {
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+
+    private final LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private final LocalDateTime to = from.plusDays(10);
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .isAvailable(true)
+                .owner(owner)
+                .build());
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void whenBookingWrittenThroughService_thenAvailabilityFollows() {
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(from.plusDays(2))
+                .end(from.plusDays(4))
+                .build());
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), from, to);
+        assertThat(availability.getAvailable()).isFalse();
+        assertThat(availability.getFreeWindows()).containsExactly(
+                new FreeWindowDto(from, from.plusDays(2)),
+                new FreeWindowDto(from.plusDays(4), to));
+        assertThrows(BookingConflictException.class, () -> bookingService.addNewBooking(booker.getId(),
+                BookingRequestDto.builder()
+                        .itemId(item.getId())
+                        .start(from.plusDays(3))
+                        .end(from.plusDays(5))
+                        .build()));
+
+        bookingService.approveBooking(owner.getId(), booking.getId(), false);
+        assertThat(itemService.getAvailability(item.getId(), from, to).getAvailable()).isTrue();
+    }
+
+    @Test
+    void whenIndexHoldsPeriodCancelledElsewhere_thenBookingAcceptedByDatabaseCheck() {
+        BookingResponseDto stale = bookingService.addNewBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(from.plusDays(1))
+                .build());
+        // another instance rejects the booking, so this index keeps the period until the next rebuild
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                bookingRepository.updateStatusOfOwnersBooking(stale.getId(), owner.getId(), StatusOfBooking.WAITING,
+                        StatusOfBooking.REJECTED));
+        assertThat(availabilityIndex.isBooked(item.getId(), from, from.plusDays(1))).isTrue();
+
+        BookingResponseDto booking = bookingService.addNewBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(from.plusHours(12))
+                .end(from.plusDays(2))
+                .build());
+
+        assertThat(booking.getId()).isNotEqualTo(stale.getId());
+        availabilityIndex.rebuild();
+        assertThat(availabilityIndex.isBooked(item.getId(), from, from.plusHours(12))).isFalse();
+        assertThat(availabilityIndex.isBooked(item.getId(), from.plusHours(12), from.plusDays(2))).isTrue();
+    }
+
+    @Test
+    void whenRebuiltFromRepository_thenExistingBookingsKnown() {
+        bookingService.addNewBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(from.plusDays(1))
+                .build());
+
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.isBooked(item.getId(), from, from.plusHours(1))).isTrue();
+        assertThat(itemService.getAvailability(item.getId(), from, to).getFreeWindows())
+                .containsExactly(new FreeWindowDto(from.plusDays(1), to));
+    }
+
+    @Test
+    void whenRequesterDeleted_thenBookingsOfCascadedItemsForgotten() {
+        User requester = userRepository.save(User.builder().name("requester").email("requester@mail.ru").build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужен лобзик")
+                .requester(requester)
+                .build());
+        Item answer = itemRepository.save(Item.builder()
+                .name("Лобзик")
+                .description("Электрический лобзик")
+                .isAvailable(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        bookingService.addNewBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(answer.getId())
+                .start(from)
+                .end(from.plusDays(1))
+                .build());
+        assertThat(availabilityIndex.isBooked(answer.getId(), from, from.plusHours(1))).isTrue();
+
+        userService.deleteUser(requester.getId());
+
+        assertThat(itemRepository.existsById(answer.getId())).isFalse();
+        assertThat(availabilityIndex.isBooked(answer.getId(), from, from.plusHours(1))).isFalse();
+    }
+}
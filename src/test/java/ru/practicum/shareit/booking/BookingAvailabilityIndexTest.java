@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.repository.BookingAvailabilityIndex.BLOCKING_STATUSES;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepo;
+
+    private MeterRegistry meterRegistry;
+    private BookingAvailabilityIndex index;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new BookingAvailabilityIndex(bookingRepo, meterRegistry, true);
+        owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        booker = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+        item = Item.builder().id(1L).name("drill").description("desc").isAvailable(true).owner(owner).build();
+        when(bookingRepo.streamAllForAvailabilityIndex(BLOCKING_STATUSES)).thenReturn(Stream.empty());
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_whenRepositoryStreamsBookings_thenIndexIsReadyAndMetricsPublished() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(meterRegistry.get("shareit.availability.index.rebuild").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.availability.index.bookings").gauge().value()).isZero();
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenDoNotTouchRepository() {
+        BookingRepository untouched = org.mockito.Mockito.mock(BookingRepository.class);
+        BookingAvailabilityIndex disabled = new BookingAvailabilityIndex(untouched, new SimpleMeterRegistry(), false);
+
+        disabled.rebuild();
+        disabled.put(booking(1L, day(1), day(3), StatusOfBooking.WAITING));
+
+        assertThat(disabled.isReady()).isFalse();
+        verifyNoInteractions(untouched);
+    }
+
+    @Test
+    void isBooked_whenPeriodsTouchOrIntersect_thenOnlyIntersectionCounts() {
+        index.put(booking(1L, day(2), day(4), StatusOfBooking.APPROVED));
+
+        assertThat(index.isBooked(item.getId(), day(3), day(5))).isTrue();
+        assertThat(index.isBooked(item.getId(), day(1), day(10))).isTrue();
+        assertThat(index.isBooked(item.getId(), day(0), day(2))).isFalse();
+        assertThat(index.isBooked(item.getId(), day(4), day(6))).isFalse();
+        assertThat(index.isBooked(2L, day(2), day(4))).isFalse();
+    }
+
+    @Test
+    void freeWindows_whenPeriodsOverlapEachOther_thenMergeThem() {
+        index.put(booking(1L, day(1), day(5), StatusOfBooking.APPROVED));
+        index.put(booking(2L, day(2), day(3), StatusOfBooking.WAITING));
+        index.put(booking(3L, day(7), day(8), StatusOfBooking.WAITING));
+
+        assertThat(index.freeWindows(item.getId(), day(0), day(10))).containsExactly(
+                new FreeWindowDto(day(0), day(1)),
+                new FreeWindowDto(day(5), day(7)),
+                new FreeWindowDto(day(8), day(10)));
+        assertThat(index.freeWindows(item.getId(), day(3), day(4))).isEmpty();
+        assertThat(index.isBooked(item.getId(), day(4), day(6))).isTrue();
+    }
+
+    @Test
+    void put_whenBookingRejectedOrMoved_thenReplaceItsPeriod() {
+        index.put(booking(1L, day(1), day(2), StatusOfBooking.WAITING));
+        index.put(booking(1L, day(5), day(6), StatusOfBooking.WAITING));
+        assertThat(index.isBooked(item.getId(), day(1), day(2))).isFalse();
+        assertThat(index.isBooked(item.getId(), day(5), day(6))).isTrue();
+
+        index.put(booking(1L, day(5), day(6), StatusOfBooking.REJECTED));
+
+        assertThat(index.freeWindows(item.getId(), day(0), day(10)))
+                .containsExactly(new FreeWindowDto(day(0), day(10)));
+        assertThat(meterRegistry.get("shareit.availability.index.bookings").gauge().value()).isZero();
+    }
+
+    @Test
+    void delete_whenItemOrUserDeleted_thenForgetTheirPeriods() {
+        index.put(booking(1L, day(1), day(2), StatusOfBooking.WAITING));
+        User anotherBooker = User.builder().id(3L).name("another").email("another@mail.ru").build();
+        Booking anotherBooking = booking(2L, day(3), day(4), StatusOfBooking.WAITING);
+        anotherBooking.setBooker(anotherBooker);
+        index.put(anotherBooking);
+
+        index.deleteByUserId(booker.getId(), List.of());
+        assertThat(index.isBooked(item.getId(), day(1), day(2))).isFalse();
+        assertThat(index.isBooked(item.getId(), day(3), day(4))).isTrue();
+
+        index.deleteByUserId(owner.getId(), List.of(item.getId()));
+        assertThat(index.isBooked(item.getId(), day(3), day(4))).isFalse();
+    }
+
+    @Test
+    void freeWindows_whenIndexNotReady_thenReadFromRepository() {
+        BookingAvailabilityIndex notReady = new BookingAvailabilityIndex(bookingRepo, new SimpleMeterRegistry(), false);
+        when(bookingRepo.findIntervalsByItemId(item.getId(), day(0), day(10), BLOCKING_STATUSES))
+                .thenReturn(List.of());
+
+        assertThat(notReady.freeWindows(item.getId(), day(0), day(10)))
+                .containsExactly(new FreeWindowDto(day(0), day(10)));
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, StatusOfBooking status) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+}
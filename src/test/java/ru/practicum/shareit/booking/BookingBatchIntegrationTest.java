@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class BookingBatchIntegrationTest {
+    private static final int BATCH_SIZE = 200;
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private User owner;
+    private User booker;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        items = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("desc")
+                    .isAvailable(true)
+                    .owner(owner)
+                    .build()));
+        }
+    }
+
+    @Test
+    void addNewBookings_whenEntriesInvalidOrOverlapping_thenRejectOnlyThoseEntries() {
+        Long itemId = items.get(0).getId();
+        List<BookingRequestDto> batch = List.of(
+                request(itemId, start, start.plusDays(2)),
+                request(itemId, start.plusDays(1), start.plusDays(3)),
+                request(items.get(1).getId(), start.plusDays(1), start),
+                request(99_999L, start, start.plusDays(1)),
+                request(itemId, start.plusDays(2), start.plusDays(3)));
+
+        List<BookingBatchResultDto> results = bookingService.addNewBookings(booker.getId(), batch);
+
+        assertThat(results).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BookingBatchResultDto::getError).containsExactly(null,
+                "Item is already booked for this period", "EndTime can be later then StartDate", "Item not found",
+                null);
+        assertThat(bookingService.getBookings(booker.getId(), State.ALL, null, 0, 20))
+                .extracting(booking -> booking.getId())
+                .containsExactlyInAnyOrder(results.get(0).getBooking().getId(), results.get(4).getBooking().getId());
+    }
+
+    @Test
+    void addNewBookings_whenBatchIsLarge_thenInsertWithJdbcBatches() {
+        List<BookingRequestDto> batch = items.stream()
+                .map(item -> request(item.getId(), start, start.plusDays(1)))
+                .collect(Collectors.toList());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingBatchResultDto> results = bookingService.addNewBookings(booker.getId(), batch);
+
+        assertThat(results).allMatch(result -> result.getError() == null);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BATCH_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(BATCH_SIZE / 10);
+    }
+
+    private BookingRequestDto request(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
@@ -9,20 +9,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Utils.NEXT_CURSOR;
 import static ru.practicum.shareit.util.Utils.SHARER_USER_ID;
 
 @WebMvcTest(BookingController.class)
@@ -150,6 +156,50 @@ class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(bookingResponseDto), result);
     }
 
+    @Test
+    @SneakyThrows
+    void addBatch_whenInputCorrect_thenReturnResultPerEntry() {
+        List<BookingBatchResultDto> results = List.of(
+                BookingBatchResultDto.builder().index(0).booking(bookingResponseDto).build(),
+                BookingBatchResultDto.builder().index(1).error("Item not found").build());
+        when(bookingService.addNewBookings(1L, List.of(bookingRequestDto, bookingRequestDto))).thenReturn(results);
+
+        String result = mockMvc.perform(post("/bookings/batch")
+                        .header(SHARER_USER_ID, 1L)
+                        .contentType("application/json")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequestDto, bookingRequestDto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(results), result);
+    }
+
+    @Test
+    @SneakyThrows
+    void addBatch_whenEntryWithoutItemId_thenReturn400() {
+        bookingRequestDto.setItemId(null);
+        mockMvc.perform(post("/bookings/batch")
+                        .header(SHARER_USER_ID, 1L)
+                        .contentType("application/json")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequestDto))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void addBatch_whenBatchEmpty_thenReturn400() {
+        mockMvc.perform(post("/bookings/batch")
+                        .header(SHARER_USER_ID, 1L)
+                        .contentType("application/json")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @SneakyThrows
     void add_whenInputWithoutEnd_thenReturn400() {
@@ -222,4 +272,42 @@ class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(bookingResponseDto), result);
     }
 
-}
\ No newline at end of file
+    @Test
+    @SneakyThrows
+    void getBookings_whenPageIsFull_thenReturnNextCursorHeader() {
+        when(bookingService.getBookings(1L, State.ALL, null, 0, 1)).thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header(SHARER_USER_ID, 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR, new PageCursor(start, 1L).encode()));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsOwner_whenCursorPassed_thenReturnPageAfterCursor() {
+        String cursor = new PageCursor(start, 1L).encode();
+        when(bookingService.getBookingsForOwnerAfterCursor(1L, State.ALL, null, cursor, 20))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(SHARER_USER_ID, 1L)
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsOwner_whenStateAndStatusPassed_thenFilterByBoth() {
+        when(bookingService.getBookingsForOwner(1L, State.FUTURE, StatusOfBooking.WAITING, 0, 20))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(SHARER_USER_ID, 1L)
+                        .param("state", "FUTURE")
+                        .param("status", "WAITING"))
+                .andExpect(status().isOk());
+    }
+}
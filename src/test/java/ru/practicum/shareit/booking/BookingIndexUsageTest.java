@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.util.CapturingStatementInspector;
+
+import javax.persistence.EntityManager;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.ownedBy;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL Hibernate generates for the booking repository methods, so a change in the shape
+ * of a derived query or specification shows up as a lost index.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.util.CapturingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookingIndexUsageTest {
+    private static final String BOOKINGS_TABLE_SCAN = "BOOKINGS.tableScan";
+    private static final int PAGE_SIZE = 20;
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        execute("insert into users (id, name, email) " +
+                        "select x, 'user' || x, 'user' || x || '@mail.ru' from system_range(1, 20)",
+                "insert into items (id, owner_id, name, description, is_available) " +
+                        "select x, mod(x, 20) + 1, 'item' || x, 'description', true from system_range(1, 200)",
+                "insert into bookings (id, start_date, end_date, item_id, booker_id, status, owner_id) " +
+                        "select x, dateadd('HOUR', x - 1000, localtimestamp), dateadd('HOUR', x - 999, localtimestamp), " +
+                        "mod(x, 200) + 1, mod(x, 20) + 1, case mod(x, 3) when 0 then 'WAITING' else 'APPROVED' end, " +
+                        "mod(mod(x, 200) + 1, 20) + 1 " +
+                        "from system_range(1, 2000)",
+                "analyze");
+        CapturingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        execute("delete from bookings", "delete from items", "delete from users");
+    }
+
+    @Test
+    void whenFindByBookerId_thenUseBookerIndex() {
+        bookingRepository.findPage(bookedBy(1L), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).doesNotContain(BOOKINGS_TABLE_SCAN);
+    }
+
+    @Test
+    void whenFindByBookerIdAndStartAfter_thenUseBookerStartIndex() {
+        bookingRepository.findPage(bookedBy(1L).and(inState(State.FUTURE, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_BOOKER_ID_START_DATE_INDEX");
+    }
+
+    @Test
+    void whenFindByBookerIdAndEndBefore_thenUseBookerIndex() {
+        bookingRepository.findPage(bookedBy(1L).and(inState(State.PAST, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).doesNotContain(BOOKINGS_TABLE_SCAN);
+    }
+
+    @Test
+    void whenFindByBookerIdAndCurrent_thenUseBookerStartIndex() {
+        bookingRepository.findPage(bookedBy(1L).and(inState(State.CURRENT, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_BOOKER_ID_START_DATE_INDEX");
+    }
+
+    @Test
+    void whenFindByBookerIdAndStatus_thenUseBookerStatusStartIndex() {
+        bookingRepository.findPage(bookedBy(1L).and(inState(State.WAITING, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_BOOKER_ID_STATUS_START_DATE_INDEX");
+    }
+
+    @Test
+    void whenFindByOwnerId_thenUseOwnerIndex() {
+        bookingRepository.findPage(ownedBy(1L), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).doesNotContain(BOOKINGS_TABLE_SCAN);
+    }
+
+    @Test
+    void whenFindByOwnerIdAndStartAfter_thenUseOwnerStartIndex() {
+        bookingRepository.findPage(ownedBy(1L).and(inState(State.FUTURE, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_OWNER_ID_START_DATE_INDEX");
+    }
+
+    @Test
+    void whenFindByOwnerIdAndStatus_thenUseOwnerStatusStartIndex() {
+        bookingRepository.findPage(ownedBy(1L).and(inState(State.WAITING, now)), 0, PAGE_SIZE);
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_OWNER_ID_STATUS_START_DATE_INDEX")
+                .doesNotContain(BOOKINGS_TABLE_SCAN);
+    }
+
+    @Test
+    void whenFindLastApprovedBookingOfItem_thenUseItemStatusStartIndex() {
+        bookingRepository.findStartedBefore(1L, StatusOfBooking.APPROVED, now, PageRequest.of(0, 1));
+
+        assertThat(explainLastBookingQuery()).contains("BOOKINGS_ITEM_ID_STATUS_START_DATE_INDEX");
+    }
+
+    /**
+     * Explains the last statement Hibernate generated against BOOKINGS. The plan does not depend on the bound values,
+     * so each parameter gets a placeholder of its declared type.
+     */
+    private String explainLastBookingQuery() {
+        List<String> statements = CapturingStatementInspector.statements();
+        String sql = statements.stream()
+                .filter(statement -> statement.toLowerCase().contains("from public.bookings "))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No booking query was generated: " + statements));
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+                ParameterMetaData parameters = explain.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    explain.setObject(i, placeholder(parameters.getParameterType(i)));
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private Object placeholder(int sqlType) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(now);
+            case Types.VARCHAR:
+            case Types.CHAR:
+                return StatusOfBooking.WAITING.name();
+            default:
+                return 1L;
+        }
+    }
+
+    private void execute(String... statements) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String statement : statements) {
+                entityManager.createNativeQuery(statement).executeUpdate();
+            }
+        });
+    }
+}
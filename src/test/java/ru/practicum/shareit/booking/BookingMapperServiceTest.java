@@ -5,7 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchEntry;
 import ru.practicum.shareit.booking.dto.BookingMapperServiceImpl;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
@@ -14,8 +14,10 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -24,6 +26,7 @@ import ru.practicum.shareit.item.model.ItemService;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -33,8 +36,12 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.repository.BookingAvailabilityIndex.BLOCKING_STATUSES;
 
 @ExtendWith(MockitoExtension.class)
 class BookingMapperServiceTest {
@@ -129,18 +136,24 @@ class BookingMapperServiceTest {
 
     @Test
     void addStatusToBooking_whenApprovedIsTrue_thenReturnEntityWithStatusApproved() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(newBooking));
+        when(bookingRepo.updateStatusOfOwnersBooking(1L, 1L, StatusOfBooking.WAITING, StatusOfBooking.APPROVED))
+                .thenReturn(1);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(approvedBooking));
         assertEquals(approvedBooking, bookingMapperService.addStatusToBooking(1L, 1L, true));
     }
 
     @Test
     void addStatusToBooking_whenApprovedIsFalse_thenReturnEntityWithStatusRejected() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(newBooking));
+        when(bookingRepo.updateStatusOfOwnersBooking(1L, 1L, StatusOfBooking.WAITING, StatusOfBooking.REJECTED))
+                .thenReturn(1);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(rejectedBooking));
         assertEquals(rejectedBooking, bookingMapperService.addStatusToBooking(1L, 1L, false));
     }
 
     @Test
     void addStatusToBooking_whenSecondaryApproved_thenThrowValidationException() {
+        when(bookingRepo.updateStatusOfOwnersBooking(1L, 1L, StatusOfBooking.WAITING, StatusOfBooking.APPROVED))
+                .thenReturn(0);
         when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(approvedBooking));
         ValidationException validationException = assertThrows(ValidationException.class,
                 () -> bookingMapperService.addStatusToBooking(1L, 1L, true));
@@ -149,22 +162,24 @@ class BookingMapperServiceTest {
 
     @Test
     void addStatusToBooking_whenApprovedIsNull_thenThrowValidationException() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(newBooking));
         ValidationException validationException = assertThrows(ValidationException.class,
                 () -> bookingMapperService.addStatusToBooking(1L, 1L, null));
         validationException.getMessage();
+        verifyNoInteractions(bookingRepo);
     }
 
     @Test
-    void addStatusToBooking_whenApprovedIsNull2_thenThrowValidationException() {
-        when(bookingRepo.findById(1L)).thenThrow(ValidationException.class);
-        ValidationException validationException = assertThrows(ValidationException.class,
-                () -> bookingMapperService.addStatusToBooking(1L, 1L, null));
-        validationException.getMessage();
+    void addStatusToBooking_whenBookingNotFound_thenThrowBookingNotFoundException() {
+        when(bookingRepo.updateStatusOfOwnersBooking(1L, 1L, StatusOfBooking.WAITING, StatusOfBooking.APPROVED))
+                .thenReturn(0);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.empty());
+        assertThrows(BookingNotFoundException.class, () -> bookingMapperService.addStatusToBooking(1L, 1L, true));
     }
 
     @Test
     void addStatusToBooking_whenNotOwnerTryToApprove_thenThrowBookingNotFoundException() {
+        when(bookingRepo.updateStatusOfOwnersBooking(1L, 2L, StatusOfBooking.WAITING, StatusOfBooking.APPROVED))
+                .thenReturn(0);
         when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(newBooking));
         BookingNotFoundException bookingNotFoundException = assertThrows(BookingNotFoundException.class,
                 () -> bookingMapperService.addStatusToBooking(2L, 1L, true));
@@ -247,7 +262,7 @@ class BookingMapperServiceTest {
     }
 
     @Test
-    void bookingRequestPrepareForAdd_whenUserEqualsOwner_thenThrowBookingNotFoundException() {
+    void bookingRequestPrepareForAdd_whenPeriodAlreadyBooked_thenThrowBookingConflictException() {
         ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
 
         BookingRequestDto bookingRequestDto = BookingRequestDto.builder()
@@ -256,280 +271,158 @@ class BookingMapperServiceTest {
                 .end(end)
                 .build();
 
-        when(itemService.getItem(1L, ownerId1)).thenReturn(itemDto);
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).get());
+        when(itemService.getItem(1L, bookerId2)).thenReturn(itemDto);
+        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
         when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).get());
+        when(bookingRepo.existsOverlapping(eq(item.getId()), eq(start), eq(end), any())).thenReturn(true);
 
-        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
-                () -> bookingMapperService.bookingRequestPrepareForAdd(ownerId1, bookingRequestDto));
-        ex.getMessage();
-    }
-
-    @Test
-    void accessVerification_whenUserIsNotBooker_thenThrowBookingNotFoundException() {
-        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
-                () -> bookingMapperService.accessVerification(newBooking, 4L));
+        assertThrows(BookingConflictException.class,
+                () -> bookingMapperService.bookingRequestPrepareForAdd(bookerId2, bookingRequestDto));
+        Mockito.verify(itemService).lockItemForBooking(item.getId());
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStateAll_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findByBookerIdOrderByStartDesc(bookerId2, pageRequest)).thenReturn(listFromRepo);
+    void bookingRequestPrepareForAdd_whenUserEqualsOwner_thenThrowBookingNotFoundException() {
+        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
 
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
+        BookingRequestDto bookingRequestDto = BookingRequestDto.builder()
+                .itemId(ownerId1)
+                .start(start)
+                .end(end)
+                .build();
 
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.ALL, 0, 1);
+        when(itemService.getItem(1L, ownerId1)).thenReturn(itemDto);
+        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).get());
+        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).get());
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
+                () -> bookingMapperService.bookingRequestPrepareForAdd(ownerId1, bookingRequestDto));
+        ex.getMessage();
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectBookingNotNullAndStateAll_thenReturnListBookingDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
+    void bookingRequestsPrepareForAdd_whenEntriesConflict_thenRejectOnlyConflictingEntries() {
+        BookingRequestDto overlapping = BookingRequestDto.builder().itemId(1L).start(start.plusDays(1)).end(end).build();
+        BookingRequestDto missingItem = BookingRequestDto.builder().itemId(7L).start(start).end(end).build();
+        BookingRequestDto later = BookingRequestDto.builder().itemId(1L).start(end).end(end.plusDays(1)).build();
         when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findByBookerIdOrderByStartDesc(bookerId2, pageRequest)).thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.ALL, 0, 1);
-
-        assertEquals(expectedAnswerList, actualAnswerList);
+        when(itemService.lockItemsForBooking(any())).thenReturn(List.of(item));
+        when(bookingRepo.findIntervalsByItemIdIn(any(), eq(start), eq(end.plusDays(1)), eq(BLOCKING_STATUSES)))
+                .thenReturn(List.of());
+
+        List<BookingBatchEntry> entries = bookingMapperService.bookingRequestsPrepareForAdd(bookerId2,
+                List.of(newBookingRequestDto, overlapping, missingItem, later));
+
+        assertEquals(List.of(true, false, false, true),
+                entries.stream().map(BookingBatchEntry::isAccepted).collect(Collectors.toList()));
+        assertEquals("Item is already booked for this period", entries.get(1).getError());
+        assertEquals("Item not found", entries.get(2).getError());
+        assertEquals(StatusOfBooking.WAITING, entries.get(3).getBooking().getStatus());
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStateFuture_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findAllByBookerIdAndStartAfterOrderByStartDesc(eq(bookerId2), Mockito.any(LocalDateTime.class),
-                eq(pageRequest))).thenReturn(listFromRepo);
+    void bookingRequestsPrepareForAdd_whenBookerIsOwner_thenRejectEntry() {
+        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).get());
+        when(itemService.lockItemsForBooking(any())).thenReturn(List.of(item));
 
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.FUTURE, 0, 1);
+        List<BookingBatchEntry> entries = bookingMapperService.bookingRequestsPrepareForAdd(ownerId1,
+                List.of(newBookingRequestDto));
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals("Owner of item can't book it!", entries.get(0).getError());
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStateCurrent_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(bookerId2),
-                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
-                eq(pageRequest))).thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.CURRENT, 0, 1);
-
-        assertEquals(expectedAnswerList, actualAnswerList);
+    void accessVerification_whenUserIsNotBooker_thenThrowBookingNotFoundException() {
+        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
+                () -> bookingMapperService.accessVerification(newBooking, 4L));
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStatePast_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
+    void prepareResponseDtoList_whenRepositoryReturnsEmptyPage_thenReturnEmptyListDto() {
+        when(bookingRepo.findPage(any(), eq(0L), eq(1))).thenReturn(new ArrayList<>());
 
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findAllByBookerIdAndEndBeforeOrderByStartDesc(eq(bookerId2),
-                Mockito.any(LocalDateTime.class), eq(pageRequest))).thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
         List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.PAST, 0, 1);
+                bookingMapperService.prepareResponseDtoList(bookerId2, State.ALL, null, 0, 1);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStateWaiting_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(bookerId2, pageRequest, StatusOfBooking.WAITING))
-                .thenReturn(listFromRepo);
+    void prepareResponseDtoList_whenStateFutureAndStatusWaiting_thenReturnListBookingDto() {
+        when(bookingRepo.findPage(any(), eq(0L), eq(1))).thenReturn(List.of(newBooking));
 
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.WAITING, 0, 1);
+        List<BookingResponseDto> actualAnswerList = bookingMapperService
+                .prepareResponseDtoList(bookerId2, State.FUTURE, StatusOfBooking.WAITING, 0, 1);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(bookingResponseDtoFromRepo), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoList_whenResponseCorrectAndStateRejected_thenReturnEmptyListDto() {
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).get());
-        when(bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(bookerId2, pageRequest, StatusOfBooking.REJECTED))
-                .thenReturn(listFromRepo);
+    void prepareResponseDtoList_whenFromInsideSecondPage_thenStartFromPageBoundary() {
+        when(bookingRepo.findPage(any(), eq(4L), eq(2))).thenReturn(List.of(newBooking));
 
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
         List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoList(bookerId2, State.REJECTED, 0, 1);
+                bookingMapperService.prepareResponseDtoList(bookerId2, State.PAST, null, 5, 2);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(bookingResponseDtoFromRepo), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateAll_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdOrderByStartDesc(ownerId1, pageRequest)).thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
+    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateCurrent_thenReturnListWithDto() {
+        when(itemService.ownerHasItems(ownerId1)).thenReturn(true);
+        when(bookingRepo.findPage(any(), eq(0L), eq(1))).thenReturn(List.of(newBooking));
 
         List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.ALL, 0, 1);
+                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.CURRENT, null, 0, 1);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(bookingResponseDtoFromRepo), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateWaiting_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId1, pageRequest, StatusOfBooking.WAITING))
-                .thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.WAITING, 0, 1);
-
-        assertEquals(expectedAnswerList, actualAnswerList);
+    void prepareResponseDtoListForOwner_whenRequestNotFromOwner_thenThrowUserNotFoundException() {
+        when(itemService.ownerHasItems(bookerId2)).thenReturn(false);
+        ItemNotFoundException itemNotFoundException = assertThrows(ItemNotFoundException.class,
+                () -> bookingMapperService.prepareResponseDtoListForOwner(bookerId2, State.ALL, null, 0, 1));
+        itemNotFoundException.getMessage();
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateRejected_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId1, pageRequest, StatusOfBooking.REJECTED))
-                .thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
+    void prepareResponseDtoListAfterCursor_whenStateAll_thenSeekAfterCursor() {
+        PageCursor cursor = new PageCursor(start, 5L);
+        when(bookingRepo.findPage(any(), eq(0L), eq(1))).thenReturn(List.of(newBooking));
 
         List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.REJECTED, 0, 1);
+                bookingMapperService.prepareResponseDtoListAfterCursor(bookerId2, State.ALL, null, cursor.encode(), 1);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(bookingResponseDtoFromRepo), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateCurrent_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(ownerId1),
-                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), eq(pageRequest)))
-                .thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
+    void prepareResponseDtoListForOwnerAfterCursor_whenStateWaiting_thenSeekAfterCursorWithStatus() {
+        PageCursor cursor = new PageCursor(start, 5L);
+        when(itemService.ownerHasItems(ownerId1)).thenReturn(true);
+        when(bookingRepo.findPage(any(), eq(0L), eq(1))).thenReturn(List.of(newBooking));
 
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.CURRENT, 0, 1);
+        List<BookingResponseDto> actualAnswerList = bookingMapperService
+                .prepareResponseDtoListForOwnerAfterCursor(ownerId1, State.WAITING, null, cursor.encode(), 1);
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertEquals(List.of(bookingResponseDtoFromRepo), actualAnswerList);
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStatePast_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(ownerId1),
-                Mockito.any(LocalDateTime.class), eq(pageRequest)))
-                .thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.PAST, 0, 1);
+    void prepareResponseDtoListAfterCursor_whenCursorNotValid_thenThrowValidationException() {
 
-        assertEquals(expectedAnswerList, actualAnswerList);
+        assertThrows(ValidationException.class,
+                () -> bookingMapperService.prepareResponseDtoListAfterCursor(bookerId2, State.ALL, null, "heh", 1));
     }
 
     @Test
-    void prepareResponseDtoListForOwner_whenResponseCorrectBookingAndStateFuture_thenReturnListWithDto() {
-        ItemDto itemDto = ItemMapper.makeDtoFromItem(item).orElseThrow();
-        when(userService.getUser(ownerId1)).thenReturn(UserMapper.makeDto(userOwner).orElseThrow());
-        when(itemService.getItems(1L)).thenReturn(List.of(itemDto));
-
-        List<Booking> listFromRepo = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(0, 1);
-        when(bookingRepo.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(eq(ownerId1),
-                Mockito.any(LocalDateTime.class), eq(pageRequest))).thenReturn(listFromRepo);
-
-        List<BookingResponseDto> expectedAnswerList = listFromRepo.stream()
-                .map(booking -> BookingMapper.entityToResponseDto(booking).get())
-                .collect(Collectors.toList());
-
-        List<BookingResponseDto> actualAnswerList =
-                bookingMapperService.prepareResponseDtoListForOwner(ownerId1, State.FUTURE, 0, 1);
-
-        assertEquals(expectedAnswerList, actualAnswerList);
-    }
-
+    void prepareResponseDtoList_whenBookerNotFound_thenThrowUserNotFoundException() {
+        doThrow(new UserNotFoundException("Пользователь id 99 не найден"))
+                .when(userService).validateUserExists(99L);
 
-    @Test
-    void prepareResponseDtoListForOwner_whenRequestNotFromOwner_thenThrowUserNotFoundException() {
-        when(userService.getUser(bookerId2)).thenReturn(UserMapper.makeDto(userBooker).orElseThrow());
-        when(itemService.getItems(bookerId2)).thenReturn(new ArrayList<>());
-        ItemNotFoundException itemNotFoundException = assertThrows(ItemNotFoundException.class,
-                () -> bookingMapperService.prepareResponseDtoListForOwner(bookerId2, State.ALL, 0, 1));
-        itemNotFoundException.getMessage();
+        assertThrows(UserNotFoundException.class,
+                () -> bookingMapperService.prepareResponseDtoList(99L, State.ALL, null, 0, 1));
+        verifyNoInteractions(bookingRepo);
     }
-}
\ No newline at end of file
+}
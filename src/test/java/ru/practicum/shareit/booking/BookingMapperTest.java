@@ -24,7 +24,7 @@ class BookingMapperTest {
     @Test
     void requestDtoToEntity() {
         User user = new User(1L, "Name", "a@a.a");
-        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest());
+        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest(), 0L);
         LocalDateTime start = LocalDateTime.now();
         LocalDateTime end = start.plusDays(1);
 
@@ -53,7 +53,7 @@ class BookingMapperTest {
     @Test
     void entityToResponseDto() {
         User user = new User(1L, "Name", "a@a.a");
-        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest());
+        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest(), 0L);
         LocalDateTime start = LocalDateTime.now();
         LocalDateTime end = start.plusDays(1);
 
@@ -82,7 +82,7 @@ class BookingMapperTest {
     @Test
     void entityToBookingForItemDto() {
         User user = new User(1L, "Name", "a@a.a");
-        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest());
+        Item item = new Item(1L, user, "Item", "Description", true, new ItemRequest(), 0L);
         LocalDateTime start = LocalDateTime.now();
         LocalDateTime end = start.plusDays(1);
 
@@ -9,15 +9,24 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.after;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.ownedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.withStatus;
 
 @ActiveProfiles("test")
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -27,7 +36,6 @@ public class BookingRepositoryTest {
     private final TestEntityManager entityManager;
     private final BookingRepository bookingRepository;
 
-    private final PageRequest pageRequest = PageRequest.of(0, 5);
     private User user;
     private Item item;
     private Booking booking1;
@@ -71,20 +79,20 @@ public class BookingRepositoryTest {
 
 
     @Test
-    void whenFindByBookerIdOrderByStartDesc() {
+    void whenFindPageByBooker_thenOrderByStartDesc() {
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findByBookerIdOrderByStartDesc(user.getId(), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId()), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByBookerIdAndStartAfterOrderByStartDesc() {
+    void whenFindPageByBookerInFutureState() {
         booking1.setStart(LocalDateTime.now().plusDays(2));
         booking2.setStart(LocalDateTime.now().plusDays(1));
         booking3.setStart(LocalDateTime.now().minusDays(1));
@@ -95,8 +103,8 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId())
+                .and(inState(State.FUTURE, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
@@ -120,7 +128,7 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void whenFindAllByBookerIdAndEndBeforeOrderByStartDescWithPageRequest() {
+    void whenFindPageByBookerInPastState() {
         booking1.setEnd(LocalDateTime.now().minusDays(2));
         booking2.setEnd(LocalDateTime.now().minusDays(1));
         booking3.setEnd(LocalDateTime.now().plusDays(1));
@@ -131,50 +139,85 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId())
+                .and(inState(State.PAST, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemIdAndStartBeforeOrderByStart() {
+    void whenPersistBooking_thenOwnerIdCopiedFromItem() {
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+
+        assertThat(booking1.getOwnerId()).isEqualTo(user.getId());
+        assertThat(bookingRepository.findPage(ownedBy(user.getId()), 0, 5))
+                .containsExactly(booking1);
+    }
+
+    @Test
+    void whenExistsOverlapping_thenMatchOnlyIntersectingBlockingBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        booking1.setStart(start);
+        booking1.setEnd(start.plusDays(2));
+        booking2.setStart(start.plusDays(3));
+        booking2.setEnd(start.plusDays(4));
+        booking2.setStatus(StatusOfBooking.REJECTED);
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        List<StatusOfBooking> blocking = List.of(StatusOfBooking.WAITING, StatusOfBooking.APPROVED);
+
+        assertThat(bookingRepository.existsOverlapping(item.getId(), start.plusDays(1), start.plusDays(5), blocking))
+                .isTrue();
+        assertThat(bookingRepository.existsOverlapping(item.getId(), start.minusDays(1), start, blocking))
+                .isFalse();
+        assertThat(bookingRepository.existsOverlapping(item.getId(), start.plusDays(2), start.plusDays(5), blocking))
+                .isFalse();
+    }
+
+    @Test
+    void whenFindStartedBefore_thenReturnLatestFirst() {
         booking1.setStart(LocalDateTime.now().minusDays(2));
+        booking1.setStatus(StatusOfBooking.APPROVED);
         booking2.setStart(LocalDateTime.now().minusDays(1));
-        booking3.setStart(LocalDateTime.now().plusDays(1));
+        booking2.setStatus(StatusOfBooking.APPROVED);
+        booking3.setStart(LocalDateTime.now().minusHours(1));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
-        List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemIdAndStartBeforeOrderByStart(item.getId(),
-                LocalDateTime.now());
+        Optional<Booking> actual = bookingRepository.findStartedBefore(
+                item.getId(), StatusOfBooking.APPROVED, LocalDateTime.now(), PageRequest.of(0, 1)).stream().findFirst();
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).contains(booking2);
     }
 
     @Test
-    void whenFindAllByItemIdAndStartAfterOrderByStartAsc() {
+    void whenFindStartingAfter_thenReturnEarliestFirst() {
         booking1.setStart(LocalDateTime.now().plusDays(1));
+        booking1.setStatus(StatusOfBooking.APPROVED);
         booking2.setStart(LocalDateTime.now().plusDays(2));
-        booking3.setStart(LocalDateTime.now().minusDays(1));
+        booking2.setStatus(StatusOfBooking.APPROVED);
+        booking3.setStart(LocalDateTime.now().plusHours(1));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
-        List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemIdAndStartAfterOrderByStartAsc(item.getId(),
-                LocalDateTime.now());
+        Optional<Booking> actual = bookingRepository.findStartingAfter(
+                item.getId(), StatusOfBooking.APPROVED, LocalDateTime.now(), PageRequest.of(0, 1)).stream().findFirst();
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).contains(booking1);
     }
 
     @Test
-    void whenFindAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
+    void whenFindPageByBookerInCurrentState() {
         booking1.setStart(LocalDateTime.now().minusDays(1));
         booking2.setStart(LocalDateTime.now().minusDays(2));
         booking3.setStart(LocalDateTime.now().plusDays(1));
@@ -188,14 +231,14 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), LocalDateTime.now().plusDays(1), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId())
+                .and(inState(State.CURRENT, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemOwnerIdOrderByStartDesc() {
+    void whenFindPageByOwner_thenOrderByStartDesc() {
         booking1.setStart(LocalDateTime.now().plusDays(2));
         booking2.setStart(LocalDateTime.now().plusDays(1));
         booking3.setStart(LocalDateTime.now().minusDays(1));
@@ -206,14 +249,13 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2, booking3);
 
-        List<Booking> actual = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(user.getId(),
-                pageRequest);
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId()), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemOwnerIdAndStartAfterOrderByStartDesc() {
+    void whenFindPageByOwnerInFutureState() {
         booking1.setStart(LocalDateTime.now().plusDays(2));
         booking2.setStart(LocalDateTime.now().plusDays(1));
         booking3.setStart(LocalDateTime.now().minusDays(1));
@@ -224,14 +266,14 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.FUTURE, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
+    void whenFindPageByOwnerInCurrentState() {
         booking1.setStart(LocalDateTime.now().minusDays(1));
         booking2.setStart(LocalDateTime.now().minusDays(2));
         booking3.setStart(LocalDateTime.now().plusDays(1));
@@ -245,14 +287,14 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), LocalDateTime.now().plusDays(1), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.CURRENT, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemOwnerIdAndEndBeforeOrderByStartDesc() {
+    void whenFindPageByOwnerInPastState() {
         booking1.setEnd(LocalDateTime.now().minusDays(2));
         booking2.setEnd(LocalDateTime.now().minusDays(1));
         booking3.setEnd(LocalDateTime.now().plusDays(1));
@@ -263,14 +305,14 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(user.getId(),
-                LocalDateTime.now(), pageRequest);
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.PAST, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemOwnerIdAndStatusOrderByStartDesc() {
+    void whenFindPageByOwnerInWaitingState() {
         booking1.setStart(LocalDateTime.now().plusDays(2));
         booking2.setStart(LocalDateTime.now().plusDays(1));
         booking3.setStart(LocalDateTime.now().plusDays(1));
@@ -282,14 +324,14 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(user.getId(),
-                pageRequest, StatusOfBooking.WAITING);
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.WAITING, LocalDateTime.now())), 0, 5);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByBookerIdAndStatusOrderByStartDesc() {
+    void whenFindPageByBookerInWaitingState() {
         booking1.setStart(LocalDateTime.now().plusDays(2));
         booking2.setStart(LocalDateTime.now().plusDays(1));
         booking3.setStart(LocalDateTime.now().plusDays(1));
@@ -301,10 +343,128 @@ public class BookingRepositoryTest {
         entityManager.persist(booking3);
         List<Booking> expected = List.of(booking1, booking2);
 
-        List<Booking> actual = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(user.getId(),
-                pageRequest, StatusOfBooking.WAITING);
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId())
+                .and(inState(State.WAITING, LocalDateTime.now())), 0, 5);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindLastBookingsOfItems() {
+        booking1.setStart(LocalDateTime.now().minusDays(2));
+        booking1.setStatus(StatusOfBooking.APPROVED);
+        booking2.setStart(LocalDateTime.now().minusDays(1));
+        booking2.setStatus(StatusOfBooking.APPROVED);
+        booking3.setStart(LocalDateTime.now().minusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking2);
+
+        List<Booking> actual = bookingRepository.findLastBookingsOfItems(List.of(item.getId()),
+                StatusOfBooking.APPROVED, LocalDateTime.now());
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindNextBookingsOfItems() {
+        booking1.setStart(LocalDateTime.now().plusDays(2));
+        booking1.setStatus(StatusOfBooking.APPROVED);
+        booking2.setStart(LocalDateTime.now().plusDays(1));
+        booking2.setStatus(StatusOfBooking.APPROVED);
+        booking3.setStart(LocalDateTime.now().plusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking2);
+
+        List<Booking> actual = bookingRepository.findNextBookingsOfItems(List.of(item.getId()),
+                StatusOfBooking.APPROVED, LocalDateTime.now());
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenFindPageByBookerAfterCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        booking1.setStart(start.plusDays(1));
+        booking2.setStart(start);
+        booking3.setStart(start);
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking2);
+
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId())
+                .and(after(new PageCursor(booking3.getStart(), booking3.getId()))), 0, 5);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindPageByOwnerInPastStateAfterCursor() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        booking1.setStart(now.minusDays(3));
+        booking1.setEnd(now.minusDays(2));
+        booking2.setStart(now.minusDays(2));
+        booking2.setEnd(now.minusDays(1));
+        booking3.setStart(now.minusDays(1));
+        booking3.setEnd(now.plusDays(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking1);
+
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.PAST, now))
+                .and(after(new PageCursor(booking2.getStart(), booking2.getId()))), 0, 5);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindPageByOwnerInFutureStateWithStatus_thenApplyBothFilters() {
+        booking1.setStart(LocalDateTime.now().plusDays(2));
+        booking2.setStart(LocalDateTime.now().plusDays(1));
+        booking2.setStatus(StatusOfBooking.APPROVED);
+        booking3.setStart(LocalDateTime.now().minusDays(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking1);
+
+        List<Booking> actual = bookingRepository.findPage(ownedBy(user.getId())
+                .and(inState(State.FUTURE, LocalDateTime.now()))
+                .and(withStatus(StatusOfBooking.WAITING)), 0, 5);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindPageWithOffset_thenSkipEarlierRows() {
+        booking1.setStart(LocalDateTime.now().plusDays(3));
+        booking2.setStart(LocalDateTime.now().plusDays(2));
+        booking3.setStart(LocalDateTime.now().plusDays(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking3);
+
+        List<Booking> actual = bookingRepository.findPage(bookedBy(user.getId()), 2, 2);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.after;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.ownedBy;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.withStatus;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookingResponseFetchTest {
+    private static final int PAGE_SIZE = 20;
+
+    private final TestEntityManager entityManager;
+    private final BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Statistics statistics;
+    private User booker;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@email.com").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@email.com").build());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User requester = entityManager.persist(User.builder()
+                    .name("requester" + i)
+                    .email("requester" + i + "@email.com")
+                    .build());
+            ItemRequest request = entityManager.persist(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .build());
+            Item item = entityManager.persist(Item.builder()
+                    .name("item" + i)
+                    .description("desc")
+                    .isAvailable(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            entityManager.persist(Booking.builder()
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 2))
+                    .item(item)
+                    .booker(booker)
+                    .status(StatusOfBooking.WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenRenderBookerPage_thenExecuteSingleStatement() {
+        List<BookingResponseDto> page = render(bookingRepository.findPage(bookedBy(booker.getId()), 0, PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(page).allMatch(dto -> dto.getItem().getRequestId() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenRenderOwnerPage_thenExecuteSingleStatement() {
+        List<BookingResponseDto> page = render(bookingRepository.findPage(ownedBy(owner.getId())
+                .and(withStatus(StatusOfBooking.WAITING)), 0, PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenRenderOwnerPageAfterCursor_thenExecuteSingleStatement() {
+        List<BookingResponseDto> page = render(bookingRepository.findPage(ownedBy(owner.getId())
+                .and(inState(State.FUTURE, now))
+                .and(after(new PageCursor(now.plusYears(1), Long.MAX_VALUE))), 0, PAGE_SIZE));
+
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<BookingResponseDto> render(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::entityToResponseDto)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+}
@@ -13,20 +13,29 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
 @ActiveProfiles("test")
-@Sql(scripts = {"file:src/main/resources/schema.sql"})
+@Sql(scripts = {"classpath:clean-tables.sql"})
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 class BookingServiceImplIntegrationTest {
 
@@ -62,7 +71,6 @@ class BookingServiceImplIntegrationTest {
         item1 = Item.builder()
                 .description("item description1")
                 .isAvailable(true)
-                .id(1L)
                 .name("test item1")
                 .owner(userOwner)
                 .build();
@@ -70,7 +78,6 @@ class BookingServiceImplIntegrationTest {
         item2 = Item.builder()
                 .description("item description2")
                 .isAvailable(true)
-                .id(2L)
                 .name("test item2")
                 .owner(userOwner)
                 .build();
@@ -78,7 +85,6 @@ class BookingServiceImplIntegrationTest {
         bookingRequestDto = BookingRequestDto.builder()
                 .start(LocalDateTime.now().plusDays(1))
                 .end(LocalDateTime.now().plusDays(2))
-                .itemId(1L)
                 .build();
     }
 
@@ -87,6 +93,7 @@ class BookingServiceImplIntegrationTest {
         userRepository.save(userBooker);
         userRepository.save(userOwner);
         itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
         BookingResponseDto expected = bookingService.addNewBooking(userBooker.getId(), bookingRequestDto);
 
         BookingResponseDto actual = bookingService.getBooking(expected.getId(), userBooker.getId());
@@ -99,6 +106,7 @@ class BookingServiceImplIntegrationTest {
         userRepository.save(userBooker);
         userRepository.save(userOwner);
         itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
         BookingResponseDto savedBooking = bookingService.addNewBooking(userBooker.getId(), bookingRequestDto);
         BookingResponseDto expected = bookingService.approveBooking(userOwner.getId(), savedBooking.getId(), true);
 
@@ -107,16 +115,102 @@ class BookingServiceImplIntegrationTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenApproveBookingConcurrently_thenOnlyOneDecisionWins() throws Exception {
+        userRepository.save(userBooker);
+        userRepository.save(userOwner);
+        itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
+        BookingResponseDto savedBooking = bookingService.addNewBooking(userBooker.getId(), bookingRequestDto);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<BookingResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean approved = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.approveBooking(userOwner.getId(), savedBooking.getId(), approved);
+            }));
+        }
+        startSignal.countDown();
+
+        List<BookingResponseDto> decided = new ArrayList<>();
+        int rejectedAsSecondary = 0;
+        for (Future<BookingResponseDto> result : results) {
+            try {
+                decided.add(result.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ValidationException.class);
+                rejectedAsSecondary++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(decided).hasSize(1);
+        assertThat(rejectedAsSecondary).isEqualTo(threads - 1);
+        assertThat(bookingService.getBooking(savedBooking.getId(), userOwner.getId()).getStatus())
+                .isEqualTo(decided.get(0).getStatus());
+    }
+
+    @Test
+    void whenManyBookersRequestSamePeriodConcurrently_thenOnlyOneBookingCreated() throws Exception {
+        userRepository.save(userOwner);
+        itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
+        int threads = 8;
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            bookers.add(userRepository.save(User.builder()
+                    .email("booker" + i + "@b.ru")
+                    .name("Booker" + i)
+                    .build()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<BookingResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Long bookerId = bookers.get(i).getId();
+            BookingRequestDto request = BookingRequestDto.builder()
+                    .start(start.plusHours(i))
+                    .end(end)
+                    .itemId(item1.getId())
+                    .build();
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.addNewBooking(bookerId, request);
+            }));
+        }
+        startSignal.countDown();
+
+        List<BookingResponseDto> created = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<BookingResponseDto> result : results) {
+            try {
+                created.add(result.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BookingConflictException.class);
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).hasSize(1);
+        assertThat(conflicts).isEqualTo(threads - 1);
+        assertThat(bookingService.getBookingsForOwner(userOwner.getId(), State.ALL, null, 0, 20)).hasSize(1);
+    }
+
     @Test
     void whenGetBookings() {
         userRepository.save(userBooker);
         userRepository.save(userOwner);
         itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
         itemRepository.save(item2);
         BookingRequestDto bookingRequestDto2 = BookingRequestDto.builder()
                 .start(LocalDateTime.now().plusDays(1))
                 .end(LocalDateTime.now().plusDays(2))
-                .itemId(2L)
+                .itemId(item2.getId())
                 .status(StatusOfBooking.WAITING)
                 .build();
         bookingRequestDto.setStatus(StatusOfBooking.WAITING);
@@ -124,7 +218,7 @@ class BookingServiceImplIntegrationTest {
         BookingResponseDto bookingResponseDto2 = bookingService.addNewBooking(userBooker.getId(), bookingRequestDto2);
         List<BookingResponseDto> expected = List.of(bookingResponseDto2, bookingResponseDto1);
 
-        List<BookingResponseDto> actual = bookingService.getBookings(userBooker.getId(), State.WAITING, 0, 2);
+        List<BookingResponseDto> actual = bookingService.getBookings(userBooker.getId(), State.WAITING, null, 0, 2);
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("start", "end").isEqualTo(expected);
     }
@@ -136,11 +230,12 @@ class BookingServiceImplIntegrationTest {
         item1.setOwner(userOwner);
         item2.setOwner(userOwner);
         itemRepository.save(item1);
+        bookingRequestDto.setItemId(item1.getId());
         itemRepository.save(item2);
         BookingRequestDto bookingRequestDto2 = BookingRequestDto.builder()
                 .start(LocalDateTime.now().plusDays(1))
                 .end(LocalDateTime.now().plusDays(2))
-                .itemId(2L)
+                .itemId(item2.getId())
                 .status(StatusOfBooking.WAITING)
                 .build();
         bookingRequestDto.setStatus(StatusOfBooking.WAITING);
@@ -148,7 +243,7 @@ class BookingServiceImplIntegrationTest {
         BookingResponseDto bookingResponseDto2 = bookingService.addNewBooking(userBooker.getId(), bookingRequestDto2);
         List<BookingResponseDto> expected = List.of(bookingResponseDto2, bookingResponseDto1);
 
-        List<BookingResponseDto> actual = bookingService.getBookingsForOwner(userOwner.getId(), State.WAITING, 0, 2);
+        List<BookingResponseDto> actual = bookingService.getBookingsForOwner(userOwner.getId(), State.WAITING, null, 0, 2);
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("start", "end").isEqualTo(expected);
     }
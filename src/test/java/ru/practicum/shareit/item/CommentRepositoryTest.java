@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -25,37 +27,65 @@ public class CommentRepositoryTest {
     private final CommentRepository commentRepository;
 
     @Test
-    void whenFindAllByItemIdOrderById() {
-        User user = User.builder()
+    void whenFindLatestByItemIdIn_thenReturnNewestCommentsOfEachItemUpToLimit() {
+        User user = entityManager.persist(User.builder()
                 .email("email@email.com")
                 .name("name")
-                .build();
-        Item item = Item.builder()
+                .build());
+        Item item1 = entityManager.persist(item(user, "name"));
+        Item item2 = entityManager.persist(item(user, "name2"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Comment oldest = entityManager.persist(comment(user, item1, "text1", now.minusDays(3)));
+        Comment middle = entityManager.persist(comment(user, item1, "text2", now.minusDays(2)));
+        Comment newest = entityManager.persist(comment(user, item1, "text3", now.minusDays(1)));
+        Comment other = entityManager.persist(comment(user, item2, "text4", now.minusDays(5)));
+
+        List<CommentView> actual = commentRepository.findLatestByItemIdIn(List.of(item1.getId(), item2.getId()), 2);
+
+        assertThat(actual).extracting(CommentView::getId)
+                .containsExactly(newest.getId(), middle.getId(), other.getId());
+        assertThat(actual).extracting(CommentView::getId).doesNotContain(oldest.getId());
+        assertThat(actual.get(0).getAuthorName()).isEqualTo(user.getName());
+        assertThat(actual.get(0).getItemId()).isEqualTo(item1.getId());
+        assertThat(actual.get(0).getCreated()).isEqualTo(newest.getCreated());
+    }
+
+    @Test
+    void whenFindPageByItemIdAfterCursor_thenContinueFromCursorNewestFirst() {
+        User user = entityManager.persist(User.builder()
+                .email("email@email.com")
                 .name("name")
+                .build());
+        Item item = entityManager.persist(item(user, "name"));
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+        Comment first = entityManager.persist(comment(user, item, "text1", created));
+        Comment second = entityManager.persist(comment(user, item, "text2", created));
+        Comment third = entityManager.persist(comment(user, item, "text3", created.plusDays(1)));
+
+        List<CommentView> page = commentRepository.findPageByItemId(item.getId(), PageRequest.of(0, 2));
+        CommentView last = page.get(page.size() - 1);
+        List<CommentView> next = commentRepository.findPageByItemIdAfter(item.getId(), last.getCreated(),
+                last.getId(), PageRequest.of(0, 2));
+
+        assertThat(page).extracting(CommentView::getId).containsExactly(third.getId(), second.getId());
+        assertThat(next).extracting(CommentView::getId).containsExactly(first.getId());
+    }
+
+    private Item item(User owner, String name) {
+        return Item.builder()
+                .name(name)
                 .description("desc")
                 .isAvailable(true)
-                .owner(user)
-                .build();
-        Comment comment1 = Comment.builder()
-                .text("text1")
-                .author(user)
-                .item(item)
-                .created(LocalDateTime.now())
+                .owner(owner)
                 .build();
-        Comment comment2 = Comment.builder()
-                .text("text2")
-                .author(user)
+    }
+
+    private Comment comment(User author, Item item, String text, LocalDateTime created) {
+        return Comment.builder()
+                .text(text)
+                .author(author)
                 .item(item)
-                .created(LocalDateTime.now())
+                .created(created)
                 .build();
-        entityManager.persist(user);
-        entityManager.persist(item);
-        entityManager.persist(comment1);
-        entityManager.persist(comment2);
-        List<Comment> expected = List.of(comment1, comment2);
-
-        List<Comment> actual = commentRepository.findAllByItemIdOrderById(item.getId());
-
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 }
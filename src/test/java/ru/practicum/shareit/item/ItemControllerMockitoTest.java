@@ -7,11 +7,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.model.Item;
@@ -19,12 +24,23 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -144,6 +160,108 @@ class ItemControllerMockitoTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @SneakyThrows
+    void searchItems_whenSizeIsNotPositive_thenStatus400() {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).searchForItems(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailability_whenPeriodGiven_thenStatus200AndReturnFreeWindows() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemService.getAvailability(1L, from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .available(false)
+                .freeWindows(List.of(new FreeWindowDto(from.plusDays(3), to)))
+                .build());
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false))
+                .andExpect(jsonPath("$.freeWindows[0].start").value("2030-01-04T00:00:00"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailability_whenPeriodOmitted_thenDefaultToMonthFromNow() {
+        when(itemService.getAvailability(eq(1L), any(), any())).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .available(true)
+                .freeWindows(List.of())
+                .build());
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemService).getAvailability(eq(1L), argThat(from -> !from.isAfter(LocalDateTime.now())),
+                argThat(to -> to.isAfter(LocalDateTime.now().plusDays(27))));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenNdjson_thenStatus200AndReturnReport() {
+        when(itemService.importItems(eq(1L), any())).thenReturn(ItemImportResultDto.builder()
+                .accepted(1)
+                .rejected(1)
+                .errors(List.of(new ItemImportErrorDto(2, "Name of item not found")))
+                .build());
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"drill\",\"description\":\"d\",\"available\":true}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenUnsupportedContentType_thenDoNotCallService() {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("drill"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemService, never()).importItems(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getComments_whenPageIsFull_thenReturnNextCursor() {
+        String cursor = new PageCursor(time.plusDays(1), 5L).encode();
+        when(itemService.getComments(1L, cursor, 1)).thenReturn(List.of(afterSave));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", new PageCursor(time, 1L).encode()))
+                .andExpect(jsonPath("$[0].text").value("noComment"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getComments_whenSizeIsNotPositive_thenStatus400() {
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).getComments(any(), any(), any());
+    }
+
     @Test
     @SneakyThrows
     void deleteItem_whenCorrect_thenStatus200() {
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusOfBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemListFetchTest {
+    private static final int ITEMS = 20;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@email.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@email.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            User requester = userRepository.save(User.builder()
+                    .name("requester" + i)
+                    .email("requester" + i + "@email.com")
+                    .build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("desc")
+                    .isAvailable(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(StatusOfBooking.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .item(item)
+                    .booker(booker)
+                    .status(StatusOfBooking.APPROVED)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("comment" + i)
+                    .author(booker)
+                    .item(item)
+                    .created(now)
+                    .build());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenGetOwnerItems_thenRenderWithFourStatements() {
+        List<ItemDto> items = itemService.getItems(owner.getId());
+
+        assertThat(items).hasSize(ITEMS).allMatch(item -> item.getRequestId() != null
+                && item.getLastBooking() != null && item.getNextBooking() != null && item.getComments().size() == 1);
+        // items, latest comments, last bookings, next bookings
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
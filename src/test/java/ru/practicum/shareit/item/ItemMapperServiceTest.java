@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.exception.IncorrectItemDtoException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapperServiceImpl;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -31,11 +33,15 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -170,7 +176,7 @@ class ItemMapperServiceTest {
     void addNewItem_whenRequestIdNull_thenReturnEntityWithoutRequest() {
         UserDto userDto = UserMapper.makeDto(userOwner).orElseThrow();
         Item expectedItem = new Item(1L, userOwner, item.getName(),
-                item.getDescription(), true, null);
+                item.getDescription(), true, null, 0L);
 
         itemDtoValid.setRequestId(null);
         when(userService.getUser(ownerId)).thenReturn(userDto);
@@ -210,13 +216,20 @@ class ItemMapperServiceTest {
         assertEquals(expectedItemDto, itemMapperService.getItemDto(item, 2L));
     }
 
+    @Test
+    void makeDtoFromItem_whenItemHasComments_thenCopyCommentCount() {
+        item.setCommentCount(3);
+
+        assertEquals(3L, ItemMapper.makeDtoFromItem(item).orElseThrow().getCommentCount());
+    }
+
     @Test
     void getItems_whenListItemCorrect_thenReturnListDto() {
         List<Item> listItem = List.of(item);
         BookingForItemDto lastBooking = new BookingForItemDto();
         BookingForItemDto nextBooking = new BookingForItemDto();
         ItemDto itemDto = new ItemDto(1L, "test item", "item description", true,
-                1L, null, new ArrayList<>(), lastBooking, nextBooking);
+                1L, null, new ArrayList<>(), 0L, lastBooking, nextBooking);
         List<ItemDto> expected = List.of(itemDto);
         assertEquals(expected, itemMapperService.getItems(listItem));
     }
@@ -226,7 +239,7 @@ class ItemMapperServiceTest {
         BookingForItemDto lastBooking = new BookingForItemDto();
         BookingForItemDto nextBooking = new BookingForItemDto();
         ItemDto expectedItemDto = new ItemDto(1L, "test item", "item description", true,
-                1L, null, new ArrayList<>(), lastBooking, nextBooking);
+                1L, null, new ArrayList<>(), 0L, lastBooking, nextBooking);
         assertEquals(expectedItemDto, itemMapperService.getItemDtoForOwner(item, new ArrayList<>()));
     }
 
@@ -235,7 +248,7 @@ class ItemMapperServiceTest {
         BookingForItemDto lastBooking = new BookingForItemDto();
         BookingForItemDto nextBooking = new BookingForItemDto();
         ItemDto expectedItemDto = new ItemDto(1L, "test item", "item description", true,
-                1L, null, new ArrayList<>(), lastBooking, nextBooking);
+                1L, null, new ArrayList<>(), 0L, lastBooking, nextBooking);
         assertEquals(expectedItemDto, itemMapperService.getItemDtoForUser(item, new ArrayList<>()));
     }
 
@@ -244,12 +257,12 @@ class ItemMapperServiceTest {
         BookingForItemDto lastBooking = null;
         BookingForItemDto nextBooking = null;
         ItemDto expectedItemDto = new ItemDto(1L, "test item", "item description", true,
-                1L, null, new ArrayList<>(), lastBooking, nextBooking);
+                1L, null, new ArrayList<>(), 0L, lastBooking, nextBooking);
         Item item = ItemMapper.makeItem(expectedItemDto, userOwner).get();
 
         List<Booking> nextList = new ArrayList<>();
 
-        when(bookingRepo.findAllByItemIdAndStartAfterOrderByStartAsc(eq(item.getId()),
+        when(bookingRepo.findNextBookingsOfItems(eq(List.of(item.getId())), eq(StatusOfBooking.APPROVED),
                 Mockito.any(LocalDateTime.class))).thenReturn(nextList);
 
         assertEquals(List.of(expectedItemDto), itemMapperService.getItems(List.of(item)));
@@ -257,6 +270,55 @@ class ItemMapperServiceTest {
 
     }
 
+    @Test
+    void getItems_whenBookingsAndCommentsFound_thenStitchThemToEachItem() {
+        Item secondItem = Item.builder()
+                .description("second description")
+                .isAvailable(true)
+                .id(2L)
+                .name("second item")
+                .owner(userOwner)
+                .build();
+        Booking lastBooking = Booking.builder()
+                .id(1L)
+                .booker(userBooker)
+                .item(item)
+                .status(StatusOfBooking.APPROVED)
+                .start(time.minusDays(2))
+                .end(time.minusDays(1))
+                .build();
+        Booking nextBooking = Booking.builder()
+                .id(2L)
+                .booker(userBooker)
+                .item(secondItem)
+                .status(StatusOfBooking.APPROVED)
+                .start(time.plusDays(1))
+                .end(time.plusDays(2))
+                .build();
+        Map<String, Object> comment = new HashMap<>();
+        comment.put("id", 1L);
+        comment.put("text", "comment");
+        comment.put("authorName", userBooker.getName());
+        comment.put("created", time);
+        comment.put("itemId", secondItem.getId());
+
+        when(commentRepo.findLatestByItemIdIn(List.of(1L, 2L), ItemMapperServiceImpl.LATEST_COMMENTS_LIMIT))
+                .thenReturn(List.of(new SpelAwareProxyProjectionFactory().createProjection(CommentView.class, comment)));
+        when(bookingRepo.findLastBookingsOfItems(eq(List.of(1L, 2L)), eq(StatusOfBooking.APPROVED),
+                Mockito.any(LocalDateTime.class))).thenReturn(List.of(lastBooking));
+        when(bookingRepo.findNextBookingsOfItems(eq(List.of(1L, 2L)), eq(StatusOfBooking.APPROVED),
+                Mockito.any(LocalDateTime.class))).thenReturn(List.of(nextBooking));
+
+        List<ItemDto> actual = itemMapperService.getItems(List.of(item, secondItem));
+
+        assertEquals(1L, actual.get(0).getLastBooking().getId());
+        assertNull(actual.get(0).getNextBooking());
+        assertTrue(actual.get(0).getComments().isEmpty());
+        assertNull(actual.get(1).getLastBooking());
+        assertEquals(2L, actual.get(1).getNextBooking().getId());
+        assertEquals(1, actual.get(1).getComments().size());
+    }
+
     @Test
     void prepareCommentToSave_whenCorrectIncome_thenReturnComment() {
         Long authorId = 3L;
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -63,11 +65,75 @@ public class ItemRepositoryTest {
         entityManager.persist(item1);
         entityManager.persist(item2);
         entityManager.persist(item3);
-        List<Item> expected = List.of(item1, item2);
 
-        List<Item> actual = itemRepository.findByText("name");
+        List<ItemSearchView> actual = itemRepository.findByText("name", PageRequest.of(0, 20));
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).extracting(ItemSearchView::getId, ItemSearchView::getName, ItemSearchView::getOwnerId,
+                        ItemSearchView::getRequestId)
+                .containsExactly(tuple(item1.getId(), item1.getName(), user.getId(), null),
+                        tuple(item2.getId(), item2.getName(), user.getId(), null));
+    }
+
+    @Test
+    void whenFindByText_thenReturnRequestIdWithoutLoadingRequest() {
+        ItemRequest request = ItemRequest.builder()
+                .description("request")
+                .requester(user)
+                .build();
+        item1.setRequest(request);
+        entityManager.persist(user);
+        entityManager.persist(request);
+        entityManager.persist(item1);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemSearchView> actual = itemRepository.findByText("first", PageRequest.of(0, 20));
+
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getRequestId()).isEqualTo(request.getId());
+        assertThat(actual.get(0).getAvailable()).isTrue();
+        assertThat(actual.get(0).getDescription()).isEqualTo("desc");
+    }
+
+    @Test
+    void whenFindByText_thenOrderByRelevanceAndPage() {
+        Item byDescription = Item.builder()
+                .name("hammer")
+                .description("drill bits included")
+                .isAvailable(true)
+                .owner(user)
+                .build();
+        Item byNameInfix = Item.builder()
+                .name("cordless drill")
+                .description("desc")
+                .isAvailable(true)
+                .owner(user)
+                .build();
+        Item byNamePrefix = Item.builder()
+                .name("Drill press")
+                .description("desc")
+                .isAvailable(true)
+                .owner(user)
+                .build();
+        Item byExactName = Item.builder()
+                .name("DRILL")
+                .description("desc")
+                .isAvailable(true)
+                .owner(user)
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(byDescription);
+        entityManager.persist(byNameInfix);
+        entityManager.persist(byNamePrefix);
+        entityManager.persist(byExactName);
+
+        List<ItemSearchView> firstPage = itemRepository.findByText("drill", PageRequest.of(0, 3));
+        List<ItemSearchView> secondPage = itemRepository.findByText("drill", PageRequest.of(1, 3));
+
+        assertThat(firstPage).extracting(ItemSearchView::getId)
+                .containsExactly(byExactName.getId(), byNamePrefix.getId(), byNameInfix.getId());
+        assertThat(secondPage).extracting(ItemSearchView::getId)
+                .containsExactly(byDescription.getId());
     }
 
     @Test
@@ -94,6 +160,20 @@ public class ItemRepositoryTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenExistsByOwnerId() {
+        User user2 = User.builder()
+                .email("email2@email.com")
+                .name("name2")
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(user2);
+        entityManager.persist(item1);
+
+        assertThat(itemRepository.existsByOwnerId(user.getId())).isTrue();
+        assertThat(itemRepository.existsByOwnerId(user2.getId())).isFalse();
+    }
+
     @Test
     void whenFindAllByRequestId() {
         ItemRequest itemRequest1 = ItemRequest.builder()
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.search.index.enabled=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemSearchIndexIntegrationTest {
+    private final ItemService itemService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@mail.ru")
+                .build());
+        itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .isAvailable(true)
+                .owner(owner)
+                .build());
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void whenRebuiltFromRepository_thenSearchServedByIndex() {
+        assertThat(itemSearchIndex.isReady()).isTrue();
+        assertThat(itemService.searchForItems("дрел", 0, 20))
+                .extracting(ItemDto::getName)
+                .containsExactly("Дрель");
+    }
+
+    @Test
+    void whenItemWrittenThroughService_thenIndexFollows() {
+        ItemDto saw = itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("Пила")
+                .description("Ножовка")
+                .available(true)
+                .build());
+        assertThat(itemService.searchForItems("ножов", 0, 20)).extracting(ItemDto::getId)
+                .containsExactly(saw.getId());
+
+        itemService.updateItem(owner.getId(), saw.getId(), ItemDto.builder().available(false).build());
+        assertThat(itemService.searchForItems("ножов", 0, 20)).isEmpty();
+
+        itemService.deleteItem(owner.getId(), saw.getId());
+        assertThat(itemService.searchForItems("ножов", 0, 20)).isEmpty();
+        assertThat(itemService.searchForItems("пил", 0, 20).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList())).doesNotContain(saw.getId());
+    }
+
+    @Test
+    void whenItemWriteRolledBack_thenIndexUnchanged() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.addNewItem(owner.getId(), ItemDto.builder()
+                    .name("Рубанок")
+                    .description("Ручной рубанок")
+                    .available(true)
+                    .build());
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemService.searchForItems("рубан", 0, 20)).isEmpty();
+    }
+
+    @Test
+    void whenItemsImported_thenIndexedAfterCommit() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"name\":\"Стамеска ").append(i).append("\",\"description\":\"desc\",\"available\":true}\n");
+        }
+
+        itemService.importItems(owner.getId(), new ByteArrayInputStream(ndjson.toString()
+                .getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(itemService.searchForItems("стамеск", 0, 200)).hasSize(120);
+    }
+
+    @Test
+    void whenImportStoppedByMalformedJson_thenCommittedBatchesStayStoredAndIndexed() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            ndjson.append("{\"name\":\"Стамеска ").append(i).append("\",\"description\":\"desc\",\"available\":true}\n");
+        }
+        ndjson.append("{\"name\": ");
+
+        assertThrows(ValidationException.class, () -> itemService.importItems(owner.getId(),
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8))));
+
+        // two full batches were committed before the error, the last 20 rows were still pending
+        assertThat(itemRepository.count()).isEqualTo(101);
+        assertThat(itemService.searchForItems("стамеск", 0, 200)).hasSize(100);
+    }
+
+    @Test
+    void whenRequesterDeleted_thenItemsAnsweringTheirRequestsLeaveIndex() {
+        User requester = userRepository.save(User.builder()
+                .name("requester")
+                .email("requester@mail.ru")
+                .build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужен лобзик")
+                .requester(requester)
+                .build());
+        itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("Лобзик")
+                .description("Электрический лобзик")
+                .available(true)
+                .requestId(request.getId())
+                .build());
+        assertThat(itemService.searchForItems("лобзик", 0, 20)).hasSize(1);
+
+        userService.deleteUser(requester.getId());
+
+        assertThat(itemRepository.findAll()).extracting(Item::getName).containsExactly("Дрель");
+        assertThat(itemService.searchForItems("лобзик", 0, 20)).isEmpty();
+        assertThat(itemService.searchForItems("дрел", 0, 20)).hasSize(1);
+    }
+}
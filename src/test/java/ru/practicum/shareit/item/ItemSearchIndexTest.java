@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepo;
+
+    private MeterRegistry meterRegistry;
+    private ItemSearchIndex index;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new ItemSearchIndex(itemRepo, meterRegistry, true);
+        owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+    }
+
+    @Test
+    void rebuild_whenRepositoryStreamsItems_thenIndexIsReadyAndMetricsPublished() {
+        when(itemRepo.streamAllForSearchIndex()).thenReturn(Stream.empty());
+        assertThat(index.isReady()).isFalse();
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(meterRegistry.get("shareit.search.index.rebuild").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.search.index.items").gauge().value()).isZero();
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenDoNotTouchRepository() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepo, new SimpleMeterRegistry(), false);
+
+        disabled.rebuild();
+        disabled.put(item(1L, "drill", "desc", true));
+
+        assertThat(disabled.isReady()).isFalse();
+        verifyNoInteractions(itemRepo);
+    }
+
+    @Test
+    void search_whenFragmentOfNameOrDescription_thenMatchCaseInsensitive() {
+        index.put(item(1L, "Дрель", "Простая дрель", true));
+        index.put(item(2L, "Отвертка", "Аккумуляторная отвертка", true));
+        index.put(item(3L, "Hammer", "heavy DUTY hammer", true));
+
+        assertThat(ids(index.search("дрЕ", 0, 20))).containsExactly(1L);
+        assertThat(ids(index.search("аккУМ", 0, 20))).containsExactly(2L);
+        assertThat(ids(index.search("y duty ha", 0, 20))).containsExactly(3L);
+        assertThat(ids(index.search("mmer heavy", 0, 20))).isEmpty();
+    }
+
+    @Test
+    void search_whenItemNotAvailable_thenSkipIt() {
+        index.put(item(1L, "drill", "desc", true));
+        index.put(item(2L, "drill", "desc", false));
+
+        assertThat(ids(index.search("drill", 0, 20))).containsExactly(1L);
+    }
+
+    @Test
+    void search_whenSeveralMatches_thenOrderByRelevanceAndPage() {
+        index.put(item(1L, "hammer", "drill bits included", true));
+        index.put(item(2L, "cordless drill", "desc", true));
+        index.put(item(3L, "Drill press", "desc", true));
+        index.put(item(4L, "DRILL", "desc", true));
+
+        assertThat(ids(index.search("drill", 0, 3))).containsExactly(4L, 3L, 2L);
+        assertThat(ids(index.search("drill", 3, 3))).containsExactly(1L);
+    }
+
+    @Test
+    void put_whenItemUpdated_thenReplaceOldTerms() {
+        index.put(item(1L, "drill", "desc", true));
+        index.put(item(1L, "saw", "desc", true));
+
+        assertThat(index.search("drill", 0, 20)).isEmpty();
+        assertThat(ids(index.search("saw", 0, 20))).containsExactly(1L);
+        // S, A, W, SA, AW, SAW and D, E, C, DE, ES, SC, DES, ESC of "desc"
+        assertThat(meterRegistry.get("shareit.search.index.terms").gauge().value()).isEqualTo(14);
+    }
+
+    @Test
+    void putAll_whenInTransaction_thenRegisterOneSynchronizationAndApplyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.putAll(List.of(item(1L, "drill", "desc", true), item(2L, "drill press", "desc", true)));
+            index.putAll(List.of(item(3L, "drill bit", "desc", true)));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(2);
+            assertThat(index.search("drill", 0, 20)).isEmpty();
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(ids(index.search("drill", 0, 20))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void put_whenItemHasRequest_thenReturnRequestIdAndOwnerId() {
+        Item item = item(1L, "drill", "desc", true);
+        item.setRequest(ItemRequest.builder().id(7L).build());
+        index.put(item);
+
+        ItemDto found = index.search("drill", 0, 20).get(0);
+
+        assertThat(found.getRequestId()).isEqualTo(7L);
+        assertThat(found.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(found.getAvailable()).isTrue();
+    }
+
+    @Test
+    void delete_whenItemOrItemsDeleted_thenRemoveFromIndex() {
+        index.put(item(1L, "drill", "desc", true));
+        index.put(item(2L, "drill", "desc", true));
+        index.put(item(3L, "drill", "desc", true));
+        index.put(item(4L, "drill", "desc", true));
+
+        index.delete(1L);
+        assertThat(ids(index.search("drill", 0, 20))).containsExactly(2L, 3L, 4L);
+
+        index.deleteAll(List.of(2L, 4L));
+        assertThat(ids(index.search("drill", 0, 20))).containsExactly(3L);
+        assertThat(meterRegistry.get("shareit.search.index.items").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void search_whenDictionaryIsLarge_thenMatchSameItemsAsSubstringScan() {
+        Random random = new Random(42);
+        List<Item> catalogue = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            Item item = item(id, words(random, 2), words(random, 4), random.nextInt(10) > 0);
+            catalogue.add(item);
+            index.put(item);
+        }
+        assertThat(meterRegistry.get("shareit.search.index.terms").gauge().value()).isGreaterThan(10_000);
+
+        for (int i = 0; i < 200; i++) {
+            Item source = catalogue.get(random.nextInt(catalogue.size()));
+            String text = source.getDescription();
+            int start = random.nextInt(text.length());
+            String query = text.substring(start, Math.min(text.length(), start + 1 + random.nextInt(8)));
+
+            String upperQuery = query.toUpperCase(Locale.ROOT);
+            List<Long> expected = catalogue.stream()
+                    .filter(Item::getIsAvailable)
+                    .filter(item -> item.getName().toUpperCase(Locale.ROOT).contains(upperQuery)
+                            || item.getDescription().toUpperCase(Locale.ROOT).contains(upperQuery))
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+            assertThat(ids(index.search(query, 0, Integer.MAX_VALUE)))
+                    .as("query '%s'", query)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return text.toString();
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .isAvailable(available)
+                .owner(owner)
+                .build();
+    }
+
+    private List<Long> ids(List<ItemDto> found) {
+        return found.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
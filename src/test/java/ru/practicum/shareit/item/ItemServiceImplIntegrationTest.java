@@ -11,6 +11,7 @@ import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusOfBooking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -18,8 +19,14 @@ import ru.practicum.shareit.item.model.ItemService;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.PageCursor;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -29,7 +36,7 @@ import static org.assertj.core.api.Assertions.*;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
 @ActiveProfiles("test")
-@Sql(scripts = {"file:src/main/resources/schema.sql"})
+@Sql(scripts = {"classpath:clean-tables.sql"})
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 class ItemServiceImplIntegrationTest {
     private User owner;
@@ -39,6 +46,7 @@ class ItemServiceImplIntegrationTest {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
+    private final UserService userService;
 
     @BeforeEach
     void setUp() {
@@ -91,11 +99,28 @@ class ItemServiceImplIntegrationTest {
                 .available(Boolean.TRUE)
                 .build();
         ItemDto oldItem = itemService.addNewItem(owner.getId(), itemDto);
+        User booker = userRepository.save(User.builder().name("booker").email("b@b.b").build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .booker(booker)
+                .item(itemRepository.findById(oldItem.getId()).orElseThrow())
+                .status(StatusOfBooking.APPROVED)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            itemService.addNewCommentToItem(CommentRequestDto.builder()
+                    .text("comment " + i)
+                    .authorId(booker.getId())
+                    .itemId(oldItem.getId())
+                    .build());
+        }
 
-        ItemDto actual = itemService.updateItem(oldItem.getId(), owner.getId(), itemDtoForUpdate);
+        ItemDto actual = itemService.updateItem(owner.getId(), oldItem.getId(), itemDtoForUpdate);
         itemDtoForUpdate.setId(oldItem.getId());
+        itemDtoForUpdate.setCommentCount(2L);
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("comments").isEqualTo(itemDtoForUpdate);
+        assertThat(itemService.getItem(oldItem.getId(), owner.getId()).getCommentCount()).isEqualTo(2L);
     }
 
     @Test
@@ -112,9 +137,9 @@ class ItemServiceImplIntegrationTest {
         ItemDto itemDto2 = itemService.addNewItem(owner.getId(), dto);
         List<ItemDto> expected = List.of(itemDto1, itemDto2);
 
-        Collection<ItemDto> actual = itemService.searchForItems("name");
+        Collection<ItemDto> actual = itemService.searchForItems("name", 0, 20);
 
-        assertThat(actual).usingRecursiveComparison().ignoringFields("comments").isEqualTo(expected);
+        assertThat(actual).usingRecursiveComparison().ignoringFields("comments", "commentCount").isEqualTo(expected);
     }
 
     @Test
@@ -142,6 +167,45 @@ class ItemServiceImplIntegrationTest {
         assertThat(actual).usingRecursiveComparison().ignoringFields("created").isEqualTo(expected);
     }
 
+    @Test
+    void whenManyComments_thenItemShowsLatestWithTotalAndRestArePaged() {
+        userRepository.save(owner);
+        User booker = userRepository.save(User.builder().name("booker").email("b@b.b").build());
+        ItemDto item = itemService.addNewItem(owner.getId(), itemDto);
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .booker(booker)
+                .item(itemRepository.findById(item.getId()).orElseThrow())
+                .status(StatusOfBooking.APPROVED)
+                .build());
+        List<Long> commentIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            commentIds.add(0, itemService.addNewCommentToItem(CommentRequestDto.builder()
+                    .text("comment " + i)
+                    .authorId(booker.getId())
+                    .itemId(item.getId())
+                    .build()).getId());
+        }
+
+        ItemDto actual = itemService.getItem(item.getId(), owner.getId());
+        List<CommentDto> firstPage = itemService.getComments(item.getId(), null, 5);
+        CommentDto last = firstPage.get(firstPage.size() - 1);
+        List<CommentDto> secondPage = itemService.getComments(item.getId(),
+                new PageCursor(last.getCreated(), last.getId()).encode(), 5);
+
+        assertThat(actual.getCommentCount()).isEqualTo(12);
+        assertThat(actual.getComments()).extracting(CommentDto::getId)
+                .containsExactlyElementsOf(commentIds.subList(0, ItemMapperServiceImpl.LATEST_COMMENTS_LIMIT));
+        assertThat(itemService.getItems(owner.getId()).get(0).getCommentCount()).isEqualTo(12);
+        assertThat(firstPage).extracting(CommentDto::getId).containsExactlyElementsOf(commentIds.subList(0, 5));
+        assertThat(secondPage).extracting(CommentDto::getId).containsExactlyElementsOf(commentIds.subList(5, 10));
+
+        userService.deleteUser(booker.getId());
+
+        assertThat(itemService.getItem(item.getId(), owner.getId()).getCommentCount()).isZero();
+    }
+
     @Test
     void whenDeleteItem() {
         userRepository.save(owner);
@@ -170,4 +234,52 @@ class ItemServiceImplIntegrationTest {
         assertThat(actual).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenImportJsonArray_thenSaveValidRowsAcrossBatchesAndReportRejected() {
+        userRepository.save(owner);
+        itemService.addNewItem(owner.getId(), itemDto);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            json.append("{\"name\":\"drill ").append(i).append("\",\"description\":\"desc\",\"available\":true},");
+        }
+        json.append("{\"name\":\"drill 0\",\"description\":\"desc\",\"available\":true},")
+                .append("{\"name\":\"item test\",\"description\":\"item test description\",\"available\":true},")
+                .append("{\"name\":\"\",\"description\":\"desc\",\"available\":true},")
+                .append("{\"name\":\"saw\",\"description\":\"desc\",\"available\":\"maybe\"}]");
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(json.toString()));
+
+        assertThat(result.getAccepted()).isEqualTo(120);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow).containsExactly(121L, 122L, 123L, 124L);
+        assertThat(itemService.getItems(owner.getId())).hasSize(121);
+    }
+
+    @Test
+    void whenImportNdjson_thenReadEveryLine() {
+        userRepository.save(owner);
+        String ndjson = "{\"name\":\"drill\",\"description\":\"desc\",\"available\":true}\n"
+                + "{\"name\":\"saw\",\"description\":\"desc\",\"available\":false}\n"
+                + "{\"name\":\"hammer\",\"description\":\"desc\",\"available\":true,\"requestId\":999}\n";
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), stream(ndjson));
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(new ItemImportErrorDto(3, "ItemRequest Not Found!"));
+    }
+
+    @Test
+    void whenImportMalformedJsonInFirstBatch_thenSaveNothing() {
+        userRepository.save(owner);
+        String json = "[{\"name\":\"drill\",\"description\":\"desc\",\"available\":true}, {\"name\": ";
+
+        assertThatThrownBy(() -> itemService.importItems(owner.getId(), stream(json)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageStartingWith("Malformed JSON after item 1");
+        assertThat(itemRepository.findAll()).isEmpty();
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -8,6 +8,9 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
@@ -16,11 +19,16 @@ import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.FreeWindowDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapperService;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
 import ru.practicum.shareit.item.model.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -28,13 +36,21 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +74,10 @@ class ItemServiceImplTest {
     private CommentRepository commentRepo;
     @Mock
     private ItemMapperService itemMapperService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -198,6 +218,14 @@ class ItemServiceImplTest {
         assertEquals(allItemsDto, itemService.getItems(1L));
     }
 
+    @Test
+    void ownerHasItems_thenAskRepositoryForExistenceOnly() {
+        when(itemRepo.existsByOwnerId(1L)).thenReturn(true);
+
+        assertTrue(itemService.ownerHasItems(1L));
+        verify(itemRepo, never()).findAllByOwnerIdOrderById(1L);
+    }
+
     @Test
     void updateItem_whenItemFound_thenUpdateOnlyAvailableField() {
         Long itemId1 = 1L;
@@ -289,17 +317,34 @@ class ItemServiceImplTest {
     @Test
     void searchForItems_whenTextIsEmpty_thenReturnEmptyList() {
         List<ItemDto> searchDtoResult = new ArrayList<>();
-        assertEquals(searchDtoResult, itemService.searchForItems(""));
+        assertEquals(searchDtoResult, itemService.searchForItems("", 0, 20));
+    }
+
+    @Test
+    void searchForItems_whenIndexIsReady_thenSearchInIndex() {
+        List<ItemDto> searchDtoResult = List.of(ItemMapper.makeDtoFromItem(item).orElseThrow());
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("des", 0, 20)).thenReturn(searchDtoResult);
+
+        assertEquals(searchDtoResult, itemService.searchForItems("des", 0, 20));
+        verify(itemRepo, never()).findByText(anyString(), any());
     }
 
     @Test
     void searchForItems_whenTextIsCorrect_thenReturnDtoList() {
         String text = "des";
         List<ItemDto> searchDtoResult = List.of(ItemMapper.makeDtoFromItem(item).orElseThrow());
-        List<Item> searchEntityResult = List.of(item);
-        when(itemRepo.findByText(text)).thenReturn(searchEntityResult);
-
-        assertEquals(searchDtoResult, itemService.searchForItems(text));
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", item.getId());
+        row.put("name", item.getName());
+        row.put("description", item.getDescription());
+        row.put("available", item.getIsAvailable());
+        row.put("ownerId", item.getOwner().getId());
+        List<ItemSearchView> searchViewResult = List.of(new SpelAwareProxyProjectionFactory()
+                .createProjection(ItemSearchView.class, row));
+        when(itemRepo.findByText(text, PageRequest.of(1, 5))).thenReturn(searchViewResult);
+
+        assertEquals(searchDtoResult, itemService.searchForItems(text, 5, 5));
     }
 
     @Test
@@ -308,6 +353,7 @@ class ItemServiceImplTest {
                 .thenReturn(commentFromRepo);
         when(commentRepo.save(commentFromRepo)).thenReturn(commentFromRepo);
         assertEquals(CommentMapper.entityToDto(commentFromRepo), itemService.addNewCommentToItem(commentDtoToAdd));
+        verify(itemRepo).incrementCommentCount(item.getId());
     }
 
     @Test
@@ -323,5 +369,43 @@ class ItemServiceImplTest {
     void clearAll() {
         itemService.clearAll();
         verify(itemRepo).deleteAll();
+        verify(availabilityIndex).clear();
+    }
+
+    @Test
+    void getAvailability_whenPeriodHasBookings_thenReturnFreeWindowsAndNotAvailable() {
+        LocalDateTime from = time.truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(10);
+        List<FreeWindowDto> freeWindows = List.of(new FreeWindowDto(from, from.plusDays(2)),
+                new FreeWindowDto(from.plusDays(4), to));
+        when(itemRepo.existsById(1L)).thenReturn(true);
+        when(availabilityIndex.freeWindows(1L, from, to)).thenReturn(freeWindows);
+
+        ItemAvailabilityDto availability = itemService.getAvailability(1L, from, to);
+
+        assertEquals(freeWindows, availability.getFreeWindows());
+        assertFalse(availability.getAvailable());
+    }
+
+    @Test
+    void getAvailability_whenPeriodIsFree_thenAvailable() {
+        LocalDateTime from = time.truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepo.existsById(1L)).thenReturn(true);
+        when(availabilityIndex.freeWindows(1L, from, to)).thenReturn(List.of(new FreeWindowDto(from, to)));
+
+        assertTrue(itemService.getAvailability(1L, from, to).getAvailable());
+    }
+
+    @Test
+    void getAvailability_whenPeriodReversed_thenThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, time, time.minusDays(1)));
+        verify(availabilityIndex, never()).freeWindows(any(), any(), any());
+    }
+
+    @Test
+    void getAvailability_whenItemNotFound_thenThrowItemNotFoundException() {
+        when(itemRepo.existsById(1L)).thenReturn(false);
+        assertThrows(ItemNotFoundException.class, () -> itemService.getAvailability(1L, time, time.plusDays(1)));
     }
 }
\ No newline at end of file
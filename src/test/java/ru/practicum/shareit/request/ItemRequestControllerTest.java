@@ -16,15 +16,22 @@ import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -145,4 +152,23 @@ class ItemRequestControllerTest {
 
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllItemRequests_whenCursorGiven_thenUseKeysetAndReturnNextCursor() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        String cursor = new PageCursor(created.minusDays(1), 7L).encode();
+        expectedRequestDto.setCreated(created);
+        when(itemRequestService.getAllItemRequestsAfterCursor(1L, cursor, 1)).thenReturn(expectedListRequestDto);
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", new PageCursor(created, 1L).encode()))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(itemRequestService, never()).getAllItemRequests(anyLong(), anyInt(), anyInt());
+    }
+}
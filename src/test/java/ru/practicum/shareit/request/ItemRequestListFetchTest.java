@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ItemRequestListFetchTest {
+    private static final int REQUESTS = 20;
+
+    private final ItemRequestService itemRequestService;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User requester;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        requester = userRepository.save(User.builder().name("requester").email("requester@email.com").build());
+        owner = userRepository.save(User.builder().name("owner").email("owner@email.com").build());
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(Item.builder()
+                        .name("item" + i + "-" + j)
+                        .description("desc")
+                        .isAvailable(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenGetRequesterList_thenRenderWithTwoStatements() {
+        List<ItemRequestDto> requests = itemRequestService.getItemRequests(requester.getId());
+
+        assertThat(requests).hasSize(REQUESTS).allMatch(request -> request.getItems().size() == 2);
+        // one more statement checks that the requester exists
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void whenGetAllRequestsPage_thenRenderWithTwoStatements() {
+        List<ItemRequestDto> requests = itemRequestService.getAllItemRequests(owner.getId(), 0, REQUESTS);
+
+        assertThat(requests).hasSize(REQUESTS).allMatch(request -> request.getItems().size() == 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -23,8 +24,11 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -92,8 +96,9 @@ class ItemRequestMapperServiceTest {
 
     @Test
     void requesterValidate_whenUserIdCorrect_thenReturnTrue() {
-        when(userService.getUser(1L)).thenReturn(userDtoRequester);
         assertTrue(itemRequestMapperService.requesterValidate(1L));
+        verify(userService).validateUserExists(1L);
+        verify(userService, never()).getUser(1L);
     }
 
     @Test
@@ -191,4 +196,71 @@ class ItemRequestMapperServiceTest {
         List<ItemRequestDto> actual = itemRequestMapperService.prepareForReturnListDto(itemRequests);
         assertEquals(List.of(itemRequestDto), actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void prepareForReturnListDto_whenItemsAnswerSeveralRequests_thenGroupThemWithSingleQuery() {
+        ItemRequest first = ItemRequest.builder().id(1L).description("first").requester(requester).created(created).build();
+        ItemRequest second = ItemRequest.builder().id(2L).description("second").requester(requester).created(created).build();
+        ItemRequest unanswered = ItemRequest.builder().id(3L).description("third").requester(requester).created(created).build();
+        Item drill = Item.builder().id(10L).name("drill").description("d").isAvailable(true)
+                .owner(requester).request(first).build();
+        Item saw = Item.builder().id(11L).name("saw").description("s").isAvailable(true)
+                .owner(requester).request(second).build();
+        Item hammer = Item.builder().id(12L).name("hammer").description("h").isAvailable(true)
+                .owner(requester).request(first).build();
+        when(itemRepo.findAllByRequestIdIn(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(view(drill), view(saw), view(hammer)));
+
+        List<ItemRequestDto> actual = itemRequestMapperService.prepareForReturnListDto(List.of(first, second, unanswered));
+
+        assertEquals(List.of(10L, 12L), ids(actual.get(0).getItems()));
+        assertEquals(List.of(11L), ids(actual.get(1).getItems()));
+        assertTrue(actual.get(2).getItems().isEmpty());
+        verify(itemRepo, never()).findAllByRequestId(any());
+    }
+
+    @Test
+    void prepareForReturnListDto_whenNoRequests_thenDoNotQueryItems() {
+        assertTrue(itemRequestMapperService.prepareForReturnListDto(List.of()).isEmpty());
+        verifyNoInteractions(itemRepo);
+    }
+
+    private ItemSearchView view(Item item) {
+        ItemDto dto = ItemMapper.makeDtoFromItem(item).get();
+        return new ItemSearchView() {
+            @Override
+            public Long getId() {
+                return dto.getId();
+            }
+
+            @Override
+            public String getName() {
+                return dto.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return dto.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return dto.getAvailable();
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return dto.getOwnerId();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return dto.getRequestId();
+            }
+        };
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -53,9 +53,9 @@ public class ItemRequestRepositoryTest {
         entityManager.persist(itemRequest1);
         entityManager.persist(itemRequest2);
         entityManager.persist(itemRequest3);
-        List<ItemRequest> expected = List.of(itemRequest1, itemRequest2);
+        List<ItemRequest> expected = List.of(itemRequest2, itemRequest1);
 
-        List<ItemRequest> actual = itemRequestRepository.findAllByRequesterId(user1.getId());
+        List<ItemRequest> actual = itemRequestRepository.findAllByRequesterIdOrderByCreatedDescIdDesc(user1.getId());
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
@@ -13,8 +13,10 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -22,11 +24,10 @@ import static org.assertj.core.api.Assertions.*;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
 @ActiveProfiles("test")
-@Sql(scripts = {"file:src/main/resources/schema.sql"})
+@Sql(scripts = {"classpath:clean-tables.sql"})
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 class ItemRequestServiceImplIntegrationTest {
     final long itemRequestId1 = 1L;
-    final long requesterId1 = 1L;
     private final ItemRequestDto itemRequestDto = new ItemRequestDto();
     private final ItemRequestDto itemRequestDtoResponse = new ItemRequestDto();
     private final ItemRequest itemRequest = new ItemRequest();
@@ -39,7 +40,6 @@ class ItemRequestServiceImplIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        user.setId(requesterId1);
         user.setName("testUser");
         user.setEmail("test@test.ru");
 
@@ -61,7 +61,7 @@ class ItemRequestServiceImplIntegrationTest {
         userRepository.save(user);
 
         ItemRequestDto expected = itemRequestService.addNewItemRequest(user.getId(), itemRequestDto);
-        ItemRequestDto actual = itemRequestService.getItemRequest(user.getId(), expected.getRequesterId());
+        ItemRequestDto actual = itemRequestService.getItemRequest(user.getId(), expected.getId());
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("created").isEqualTo(expected);
     }
@@ -75,7 +75,7 @@ class ItemRequestServiceImplIntegrationTest {
                 .build();
         ItemRequestDto itemRequestDto1 = itemRequestService.addNewItemRequest(user.getId(), itemRequestDto);
         ItemRequestDto itemRequestDto2 = itemRequestService.addNewItemRequest(user.getId(), dtoForSave);
-        List<ItemRequestDto> expected = List.of(itemRequestDto1, itemRequestDto2);
+        List<ItemRequestDto> expected = List.of(itemRequestDto2, itemRequestDto1);
 
         List<ItemRequestDto> actual = itemRequestService.getItemRequests(user.getId());
 
@@ -95,9 +95,30 @@ class ItemRequestServiceImplIntegrationTest {
         ItemRequestDto itemRequestDto2 = itemRequestService.addNewItemRequest(user.getId(), dtoForSave);
         List<ItemRequestDto> expected = List.of(itemRequestDto1, itemRequestDto2);
 
-        List<ItemRequestDto> actual = itemRequestService.getAllItemRequests(3L, 0, 2);
+        List<ItemRequestDto> actual = itemRequestService.getAllItemRequests(user.getId() + 1, 0, 2);
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("created").isEqualTo(expected);
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenGetAllItemRequestsOfActiveRequester_thenPagesAreFullAndCursorContinues() {
+        userRepository.save(user);
+        User other = userRepository.save(User.builder().name("other").email("other@test.ru").build());
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            itemRequestService.addNewItemRequest(user.getId(), ItemRequestDto.builder().description("own" + i).build());
+            expected.add(itemRequestService.addNewItemRequest(other.getId(),
+                    ItemRequestDto.builder().description("other" + i).build()).getId());
+        }
+
+        List<ItemRequestDto> first = itemRequestService.getAllItemRequests(user.getId(), 0, 2);
+        ItemRequestDto last = first.get(first.size() - 1);
+        String cursor = new PageCursor(last.getCreated(), last.getId()).encode();
+        List<ItemRequestDto> second = itemRequestService.getAllItemRequestsAfterCursor(user.getId(), cursor, 2);
+        List<ItemRequestDto> byOffset = itemRequestService.getAllItemRequests(user.getId(), 2, 2);
+
+        assertThat(first).extracting(ItemRequestDto::getId).containsExactly(expected.get(0), expected.get(1));
+        assertThat(second).extracting(ItemRequestDto::getId).containsExactly(expected.get(2), expected.get(3));
+        assertThat(byOffset).extracting(ItemRequestDto::getId).containsExactly(expected.get(2), expected.get(3));
+    }
+}
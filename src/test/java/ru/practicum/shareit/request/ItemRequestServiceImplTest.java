@@ -130,7 +130,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getItemRequests_whenRequestIsFound_thenReturnListWithDto() {
         when(itemRequestMapperService.requesterValidate(1L)).thenReturn(true);
-        when(itemRequestRepo.findAllByRequesterId(requesterId1)).thenReturn(expectedList);
+        when(itemRequestRepo.findAllByRequesterIdOrderByCreatedDescIdDesc(requesterId1)).thenReturn(expectedList);
         when(itemRequestMapperService.prepareForReturnListDto(expectedList))
                 .thenReturn(List.of(itemRequestDtoResponse));
         List<ItemRequestDto> actual = itemRequestService.getItemRequests(requesterId1);
@@ -147,7 +147,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getItemRequests_whenUserHasNoRequests_thenReturnEmptyList() {
         when(itemRequestMapperService.requesterValidate(1L)).thenReturn(true);
-        when(itemRequestRepo.findAllByRequesterId(requesterId1)).thenReturn(List.of(new ItemRequest()));
+        when(itemRequestRepo.findAllByRequesterIdOrderByCreatedDescIdDesc(requesterId1)).thenReturn(List.of(new ItemRequest()));
         when(itemRequestMapperService.prepareForReturnListDto(List.of(new ItemRequest())))
                 .thenReturn(List.of(new ItemRequestDto()));
         List<ItemRequestDto> actual = itemRequestService.getItemRequests(requesterId1);
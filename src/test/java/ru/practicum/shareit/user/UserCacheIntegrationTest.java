@@ -0,0 +1,122 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.user.service.UserServiceImpl.USERS_CACHE;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Sql(scripts = {"classpath:clean-tables.sql"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class UserCacheIntegrationTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        cache().clear();
+        user = userService.addUser(UserDto.builder()
+                .name("user")
+                .email("user@mail.ru")
+                .build());
+    }
+
+    @Test
+    void whenGetUserTwice_thenSecondCallServedFromCache() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        userService.getUser(user.getId());
+        userRepository.deleteAll();
+        UserDto cached = userService.getUser(user.getId());
+
+        assertThat(cached).isEqualTo(user);
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void whenUserUpdated_thenCachedEntryEvicted() {
+        userService.getUser(user.getId());
+        assertThat(cache().get(user.getId())).isNotNull();
+
+        userService.updateUser(UserDto.builder().name("renamed").build(), user.getId());
+
+        assertThat(cache().get(user.getId())).isNull();
+        double misses = cacheGets("miss");
+        assertThat(userService.getUser(user.getId()).getName()).isEqualTo("renamed");
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void whenUserUpdateFails_thenCachedEntryKept() {
+        UserDto other = userService.addUser(UserDto.builder().name("other").email("other@mail.ru").build());
+        userService.getUser(user.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.updateUser(UserDto.builder()
+                .email(other.getEmail())
+                .build(), user.getId()));
+
+        assertThat(cache().get(user.getId())).isNotNull();
+    }
+
+    @Test
+    void whenUserDeleted_thenCachedEntryEvicted() {
+        userService.getUser(user.getId());
+        assertThat(cache().get(user.getId())).isNotNull();
+
+        userService.deleteUser(user.getId());
+
+        assertThat(cache().get(user.getId())).isNull();
+        assertThrows(UserNotFoundException.class, () -> userService.getUser(user.getId()));
+    }
+
+    @Test
+    void whenClearAll_thenAllCachedEntriesEvicted() {
+        UserDto other = userService.addUser(UserDto.builder().name("other").email("other@mail.ru").build());
+        userService.getUser(user.getId());
+        userService.getUser(other.getId());
+
+        userService.clearAll();
+
+        assertThat(cache().get(user.getId())).isNull();
+        assertThat(cache().get(other.getId())).isNull();
+        assertThrows(UserNotFoundException.class, () -> userService.getUser(user.getId()));
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(USERS_CACHE));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", USERS_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -19,7 +19,7 @@ import static org.assertj.core.api.Assertions.*;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
 @ActiveProfiles("test")
-@Sql(scripts = {"file:src/main/resources/schema.sql"})
+@Sql(scripts = {"classpath:clean-tables.sql"})
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 class UserServiceImplIntegrationTest {
     private UserDto userDto;
@@ -9,8 +9,11 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingAvailabilityIndex;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -22,6 +25,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +36,12 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepo;
+    @Mock
+    private ItemRepository itemRepo;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -168,9 +178,29 @@ class UserServiceImplTest {
 
     @Test
     void delete() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(userFromRepo));
+        when(userRepo.existsById(1L)).thenReturn(true);
+        when(itemRepo.findIdsDeletedWithUser(1L)).thenReturn(List.of(2L, 3L));
         userService.deleteUser(1L);
+        verify(itemRepo).subtractCommentsOfAuthor(1L);
         verify(userRepo).deleteById(1L);
+        verify(itemSearchIndex).deleteAll(List.of(2L, 3L));
+        verify(availabilityIndex).deleteByUserId(1L, List.of(2L, 3L));
+    }
+
+    @Test
+    void validateUserExists_whenUserExists_thenDoNotLoadIt() {
+        when(userRepo.existsById(1L)).thenReturn(true);
+
+        userService.validateUserExists(1L);
+
+        verify(userRepo, never()).findById(1L);
+    }
+
+    @Test
+    void validateUserExists_whenUserNotFound_thenThrowUserNotFoundException() {
+        when(userRepo.existsById(2L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> userService.validateUserExists(2L));
     }
 
     @Test
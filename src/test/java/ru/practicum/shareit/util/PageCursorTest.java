@@ -0,0 +1,62 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.util.Utils.NEXT_CURSOR;
+
+class PageCursorTest {
+    private final LocalDateTime timestamp = LocalDateTime.of(2023, 3, 1, 12, 30, 15, 123456000);
+
+    @Test
+    void decode_whenEncoded_thenReturnSameCursor() {
+        PageCursor cursor = new PageCursor(timestamp, 42L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_whenTokenNotValid_thenThrowValidationException() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void next_whenPageIsNotFull_thenReturnNull() {
+        assertNull(PageCursor.next(List.of(timestamp), 2, t -> t, t -> 1L));
+    }
+
+    @Test
+    void next_whenPageIsFull_thenReturnCursorOfLastRow() {
+        String next = PageCursor.next(List.of(timestamp.plusDays(1), timestamp), 2, t -> t, t -> 7L);
+
+        assertEquals(new PageCursor(timestamp, 7L), PageCursor.decode(next));
+    }
+
+    @Test
+    void response_whenPageIsFull_thenSetNextCursorHeader() {
+        List<LocalDateTime> page = List.of(timestamp.plusDays(1), timestamp);
+
+        ResponseEntity<List<LocalDateTime>> response = PageCursor.response(page, 2, t -> t, t -> 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        assertEquals(new PageCursor(timestamp, 7L).encode(), response.getHeaders().getFirst(NEXT_CURSOR));
+    }
+
+    @Test
+    void response_whenPageIsNotFull_thenOmitNextCursorHeader() {
+        ResponseEntity<List<LocalDateTime>> response = PageCursor.response(List.of(timestamp), 2, t -> t, t -> 1L);
+
+        assertEquals(List.of(timestamp), response.getBody());
+        assertFalse(response.getHeaders().containsKey(NEXT_CURSOR));
+    }
+}
@@ -0,0 +1,6 @@
+DELETE FROM COMMENTS;
+DELETE FROM BOOKINGS;
+DELETE FROM ITEMS;
+UPDATE USERS SET REQUEST_ID = NULL;
+DELETE FROM REQUESTS;
+DELETE FROM USERS;